@@ -0,0 +1,59 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.PopcornPalaceApplication;
+import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.CustomerRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server against an in-memory H2 database, so the
+ * benchmarks run the real services, repositories and in-memory indexes.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        // command-line arguments outrank the MySQL settings in the packaged application.yaml
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    static Movie saveMovie(ConfigurableApplicationContext context, String title, int duration) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre("Benchmark");
+        movie.setDuration(duration);
+        movie.setRating(7.0);
+        movie.setReleaseYear(2024);
+        return context.getBean(MovieRepository.class).save(movie);
+    }
+
+    static Customer saveCustomer(ConfigurableApplicationContext context, String email) {
+        Customer customer = new Customer();
+        customer.setFullName("Benchmark Customer");
+        customer.setEmail(email);
+        return context.getBean(CustomerRepository.class).save(customer);
+    }
+}
@@ -0,0 +1,102 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
+import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.TicketBookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent single-seat bookings, one transaction per booking ({@code bookTicket}) against the
+ * group-committing {@code BookingPipeline} ({@code submitBooking}). Every operation books a new
+ * seat; the table and the seat index are reset before each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = BookingPipelineBenchmark.BOOKINGS_PER_THREAD)
+@Measurement(iterations = 5, batchSize = BookingPipelineBenchmark.BOOKINGS_PER_THREAD)
+@Threads(BookingPipelineBenchmark.THREADS)
+@Fork(1)
+public class BookingPipelineBenchmark {
+
+    static final int THREADS = 16;
+    static final int BOOKINGS_PER_THREAD = 500;
+    private static final int SEATS = 100;
+
+    @Param({"false", "true"})
+    public boolean pipelined;
+
+    private ConfigurableApplicationContext context;
+    private TicketBookingService bookingService;
+    private List<Long> showtimeIds;
+    private Long customerId;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("pipeline",
+                "popcorn-palace.booking-pipeline.enabled=" + pipelined,
+                "spring.datasource.hikari.maximum-pool-size=" + THREADS);
+        bookingService = context.getBean(TicketBookingService.class);
+
+        Movie movie = BenchmarkApplication.saveMovie(context, "Pipeline Benchmark", 120);
+        Customer customer = BenchmarkApplication.saveCustomer(context, "pipeline@bench.local");
+        customerId = customer.getId();
+        showtimeIds = saveShowtimes(movie, THREADS * BOOKINGS_PER_THREAD / SEATS + 1);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM ticket_booking");
+        SeatOccupancyIndex seatIndex = context.getBean(SeatOccupancyIndex.class);
+        showtimeIds.forEach(seatIndex::invalidate);
+        nextSlot.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long book() {
+        int slot = nextSlot.getAndIncrement();
+        TicketBookingRequest request = new TicketBookingRequest();
+        request.setShowtimeId(showtimeIds.get(slot / SEATS));
+        request.setCustomerId(customerId);
+        request.setSeatNumber(slot % SEATS + 1);
+        return pipelined
+                ? bookingService.submitBooking(request).join().getBookingId()
+                : bookingService.bookTicket(request).getBookingId();
+    }
+
+    private List<Long> saveShowtimes(Movie movie, int count) {
+        List<Showtime> showtimes = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < count; i++) {
+            Showtime showtime = new Showtime();
+            showtime.setMovie(movie);
+            showtime.setTheater("Pipeline Hall");
+            showtime.setStartTime(start.plusHours(3L * i));
+            showtime.setEndTime(showtime.getStartTime().plusMinutes(movie.getDuration()));
+            showtime.setPrice(BigDecimal.TEN);
+            showtimes.add(showtime);
+        }
+        return context.getBean(ShowtimeRepository.class).saveAll(showtimes).stream()
+                .map(Showtime::getId)
+                .toList();
+    }
+}
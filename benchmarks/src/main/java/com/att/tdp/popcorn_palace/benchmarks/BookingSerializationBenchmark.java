@@ -0,0 +1,86 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.TicketBooking;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TicketBookingResponse.fromEntity} plus Jackson serialization of the resulting list,
+ * configured like the application's own ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int bookings;
+
+    private ObjectMapper objectMapper;
+    private List<TicketBooking> entities;
+    private List<TicketBookingResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Movie movie = new Movie();
+        movie.setId(1L);
+        movie.setTitle("Serialization Benchmark");
+        movie.setDuration(120);
+
+        entities = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            Showtime showtime = new Showtime();
+            showtime.setId((long) i / 100 + 1);
+            showtime.setMovie(movie);
+            showtime.setTheater("Hall " + (i % 10));
+            showtime.setStartTime(LocalDateTime.of(2030, 1, 1, 10, 0));
+            showtime.setEndTime(LocalDateTime.of(2030, 1, 1, 12, 0));
+            showtime.setPrice(BigDecimal.valueOf(42.5));
+
+            Customer customer = new Customer();
+            customer.setId((long) i + 1);
+            customer.setFullName("Customer " + i);
+
+            TicketBooking booking = new TicketBooking();
+            booking.setId((long) i + 1);
+            booking.setShowtime(showtime);
+            booking.setCustomer(customer);
+            booking.setSeatNumber(i % 100 + 1);
+            booking.setBookedAt(LocalDateTime.of(2029, 12, 1, 9, 30));
+            entities.add(booking);
+        }
+        responses = entities.stream().map(TicketBookingResponse::fromEntity).toList();
+    }
+
+    @Benchmark
+    public List<TicketBookingResponse> fromEntity() {
+        return entities.stream().map(TicketBookingResponse::fromEntity).toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] fromEntityAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fromEntity());
+    }
+}
@@ -0,0 +1,85 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.cache.MovieCatalogCache;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.MovieResponse;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code MovieServiceImpl.getAllMovies} over catalogs of different sizes. With {@code warmCatalog}
+ * off, the cached catalog is evicted before every call, as happens right after a movie changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieListingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100", "1000", "10000"})
+    public int movies;
+
+    @Param({"true", "false"})
+    public boolean warmCatalog;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieCatalogCache movieCatalog;
+    private Long firstId;
+    private Long middleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("movies");
+        movieService = context.getBean(MovieService.class);
+        movieCatalog = context.getBean(MovieCatalogCache.class);
+
+        List<Movie> catalog = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setGenre("Benchmark");
+            movie.setDuration(90 + i % 60);
+            movie.setRating(i % 10);
+            movie.setReleaseYear(1990 + i % 35);
+            catalog.add(movie);
+        }
+        List<Movie> saved = context.getBean(MovieRepository.class).saveAll(catalog);
+        firstId = saved.get(0).getId();
+        middleId = saved.get(movies / 2).getId();
+        movieCatalog.evict(firstId);
+    }
+
+    @Setup(Level.Invocation)
+    public void evictCatalog() {
+        if (!warmCatalog) {
+            movieCatalog.evict(firstId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<MovieResponse> firstPage() {
+        return movieService.getAllMovies(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<MovieResponse> middlePage() {
+        return movieService.getAllMovies(middleId, PAGE_SIZE);
+    }
+}
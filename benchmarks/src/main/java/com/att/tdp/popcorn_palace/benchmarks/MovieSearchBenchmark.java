@@ -0,0 +1,78 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.MovieResponse;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.search.MovieSearchIndex;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code MovieServiceImpl.searchMovies} over catalogs of different sizes, answered from the
+ * in-memory {@link MovieSearchIndex}: a title prefix, a genre with a rating floor, and a year range alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieSearchBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final String[] WORDS = {
+            "Night", "Star", "Return", "Dark", "Last", "City", "Lost", "Dream", "Storm", "Secret",
+            "Winter", "Shadow", "Ocean", "King", "Road", "Fire", "Silent", "Glass", "River", "Empire"};
+    private static final String[] GENRES = {"Action", "Drama", "Comedy", "Sci Fi", "Horror", "Animation"};
+
+    @Param({"1000", "10000", "100000"})
+    public int movies;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("movie-search");
+        movieService = context.getBean(MovieService.class);
+
+        List<Movie> catalog = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            Movie movie = new Movie();
+            movie.setTitle(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i);
+            movie.setGenre(GENRES[i % GENRES.length]);
+            movie.setDuration(90 + i % 60);
+            movie.setRating(i % 100 / 10.0);
+            movie.setReleaseYear(1950 + i % 75);
+            catalog.add(movie);
+        }
+        context.getBean(MovieRepository.class).saveAll(catalog);
+        context.getBean(MovieSearchIndex.class).warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<MovieResponse> titlePrefix() {
+        return movieService.searchMovies("star ret", null, null, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<MovieResponse> genreAndRating() {
+        return movieService.searchMovies(null, "sci fi", null, 9.0, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<MovieResponse> yearRange() {
+        return movieService.searchMovies(null, null, 2020, null, null, PAGE_SIZE);
+    }
+}
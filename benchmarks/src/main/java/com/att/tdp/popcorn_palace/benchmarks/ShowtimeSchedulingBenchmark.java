@@ -0,0 +1,99 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.exception.ShowtimeConflictException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap checking in {@code ShowtimeServiceImpl.createShowtime} for a theater that already has a
+ * given number of back-to-back showtimes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShowtimeSchedulingBenchmark {
+
+    private static final String THEATER = "Scheduling Hall";
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final int DURATION_MINUTES = 120;
+    private static final int SLOT_HOURS = 3;
+
+    @Param({"100", "1000", "10000"})
+    public int showtimesPerTheater;
+
+    private ConfigurableApplicationContext context;
+    private ShowtimeService showtimeService;
+    private Movie movie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("scheduling");
+        showtimeService = context.getBean(ShowtimeService.class);
+        movie = BenchmarkApplication.saveMovie(context, "Scheduling Benchmark", DURATION_MINUTES);
+
+        // scheduled through the service so the in-memory interval index sees them too
+        List<Showtime> batch = new ArrayList<>();
+        for (int i = 0; i < showtimesPerTheater; i++) {
+            batch.add(showtime(FIRST_START.plusHours((long) SLOT_HOURS * i)));
+            if (batch.size() == 1000) {
+                showtimeService.scheduleShowtimes(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            showtimeService.scheduleShowtimes(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * A showtime that collides with one in the middle of the schedule; nothing is written.
+     */
+    @Benchmark
+    public boolean rejectOverlapping() {
+        LocalDateTime start = FIRST_START.plusHours((long) SLOT_HOURS * (showtimesPerTheater / 2)).plusMinutes(30);
+        try {
+            showtimeService.createShowtime(showtime(start));
+            throw new IllegalStateException("Expected a conflict at " + start);
+        } catch (ShowtimeConflictException expected) {
+            return true;
+        }
+    }
+
+    /**
+     * A showtime in the gap after the last slot, created and then deleted again.
+     */
+    @Benchmark
+    public Long createAndDeleteFree() {
+        LocalDateTime start = FIRST_START.plusHours((long) SLOT_HOURS * showtimesPerTheater);
+        Showtime created = showtimeService.createShowtime(showtime(start));
+        showtimeService.deleteShowtime(created.getId());
+        return created.getId();
+    }
+
+    private Showtime showtime(LocalDateTime start) {
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setTheater(THEATER);
+        showtime.setStartTime(start);
+        showtime.setEndTime(start.plusMinutes(DURATION_MINUTES));
+        showtime.setPrice(BigDecimal.TEN);
+        return showtime;
+    }
+}
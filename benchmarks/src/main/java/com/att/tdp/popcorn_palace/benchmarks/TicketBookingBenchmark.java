@@ -0,0 +1,105 @@
+package com.att.tdp.popcorn_palace.benchmarks;
+
+import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.TicketBooking;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketBookingBatchWriter;
+import com.att.tdp.popcorn_palace.service.TicketBookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TicketBookingServiceImpl.bookTicket} against H2, with a given number of bookings already
+ * in the table. Each operation books a seat and cancels it again so the seat map never fills up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketBookingBenchmark {
+
+    private static final int SEATS = 100;
+
+    @Param({"0", "10000", "100000"})
+    public int existingBookings;
+
+    private ConfigurableApplicationContext context;
+    private TicketBookingService bookingService;
+    private TicketBookingRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("booking");
+        bookingService = context.getBean(TicketBookingService.class);
+
+        Movie movie = BenchmarkApplication.saveMovie(context, "Booking Benchmark", 120);
+        Customer customer = BenchmarkApplication.saveCustomer(context, "booking@bench.local");
+        int filledShowtimes = (existingBookings + SEATS - 1) / SEATS;
+        List<Showtime> showtimes = saveShowtimes(movie, filledShowtimes + 1);
+        fillSeats(showtimes.subList(0, filledShowtimes), customer);
+
+        request = new TicketBookingRequest();
+        request.setShowtimeId(showtimes.get(filledShowtimes).getId());
+        request.setCustomerId(customer.getId());
+        request.setSeatNumber(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long bookAndCancel() {
+        TicketBookingResponse booking = bookingService.bookTicket(request);
+        bookingService.cancelBooking(booking.getBookingId());
+        return booking.getBookingId();
+    }
+
+    private List<Showtime> saveShowtimes(Movie movie, int count) {
+        List<Showtime> showtimes = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < count; i++) {
+            Showtime showtime = new Showtime();
+            showtime.setMovie(movie);
+            showtime.setTheater("Booking Hall");
+            showtime.setStartTime(start.plusHours(3L * i));
+            showtime.setEndTime(showtime.getStartTime().plusMinutes(movie.getDuration()));
+            showtime.setPrice(BigDecimal.TEN);
+            showtimes.add(showtime);
+        }
+        return context.getBean(ShowtimeRepository.class).saveAll(showtimes);
+    }
+
+    private void fillSeats(List<Showtime> showtimes, Customer customer) {
+        TicketBookingBatchWriter batchWriter = context.getBean(TicketBookingBatchWriter.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        LocalDateTime bookedAt = LocalDateTime.now();
+        for (int first = 0; first < existingBookings; first += SEATS) {
+            List<TicketBooking> bookings = new ArrayList<>(SEATS);
+            for (int i = first; i < Math.min(first + SEATS, existingBookings); i++) {
+                TicketBooking booking = new TicketBooking();
+                booking.setShowtime(showtimes.get(i / SEATS));
+                booking.setCustomer(customer);
+                booking.setSeatNumber(i % SEATS + 1);
+                booking.setBookedAt(bookedAt);
+                bookings.add(booking);
+            }
+            transactionTemplate.executeWithoutResult(status -> batchWriter.insertAll(bookings));
+        }
+    }
+}
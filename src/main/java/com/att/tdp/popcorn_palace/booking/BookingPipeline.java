@@ -0,0 +1,179 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import com.att.tdp.popcorn_palace.model.TicketBooking;
+import com.att.tdp.popcorn_palace.repository.TicketBookingBatchWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind booking inserts with group commit. Bookings are queued in a bounded ring buffer and
+ * a single writer thread inserts whatever has arrived within {@code flush-interval} (up to
+ * {@code max-batch} rows) as one JDBC batch in one transaction, so a burst of bookings pays for one
+ * commit instead of one each. Every future completes only after the commit that made its row durable.
+ * <p>
+ * If a batch fails, its bookings are retried one transaction each, so a single conflicting seat
+ * fails only its own future.
+ */
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.booking-pipeline.enabled", havingValue = "true")
+public class BookingPipeline implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingPipeline.class);
+
+    private final TicketBookingBatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingBooking> queue;
+    private final Duration flushInterval;
+    private final int maxBatch;
+
+    private volatile Thread writer;
+    private volatile DistributionSummary batchSizes;
+
+    public BookingPipeline(
+            TicketBookingBatchWriter batchWriter,
+            PlatformTransactionManager transactionManager,
+            @Value("${popcorn-palace.booking-pipeline.queue-capacity:4096}") int queueCapacity,
+            @Value("${popcorn-palace.booking-pipeline.flush-interval:2ms}") Duration flushInterval,
+            @Value("${popcorn-palace.booking-pipeline.max-batch:256}") int maxBatch) {
+        this.batchWriter = batchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushInterval = flushInterval;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Queues the booking for the next group commit.
+     *
+     * @return a future completed with the saved booking once it is committed, or exceptionally
+     *         with the insert failure; it fails with {@link RejectedExecutionException} right away
+     *         when the queue is full or the pipeline is stopped
+     */
+    public CompletableFuture<TicketBooking> submit(TicketBooking booking) {
+        PendingBooking pending = new PendingBooking(booking, new CompletableFuture<>());
+        if (writer == null || !queue.offer(pending)) {
+            pending.result().completeExceptionally(new RejectedExecutionException("Booking pipeline is full"));
+        } else if (writer == null && queue.remove(pending)) {
+            // stopped while we were queueing, after the writer's final drain
+            pending.result().completeExceptionally(new RejectedExecutionException("Booking pipeline is stopped"));
+        }
+        return pending.result();
+    }
+
+    @Override
+    public void start() {
+        writer = Thread.ofVirtual().name("booking-pipeline").start(this::writeBatches);
+    }
+
+    /**
+     * Stops taking bookings and commits the ones already queued before returning.
+     */
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        writer = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("popcorn.booking.pipeline.queued", queue, BlockingQueue::size)
+                .description("Bookings waiting for the next group commit")
+                .register(registry);
+        batchSizes = DistributionSummary.builder("popcorn.booking.pipeline.batch")
+                .description("Bookings per group commit")
+                .baseUnit("bookings")
+                .register(registry);
+    }
+
+    private void writeBatches() {
+        List<PendingBooking> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingBooking next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // shutting down: nothing new is accepted, commit what is left
+        queue.drainTo(batch);
+        while (!batch.isEmpty()) {
+            List<PendingBooking> chunk = batch.subList(0, Math.min(maxBatch, batch.size()));
+            flush(chunk);
+            chunk.clear();
+        }
+    }
+
+    private void flush(List<PendingBooking> batch) {
+        List<TicketBooking> bookings = batch.stream().map(PendingBooking::booking).toList();
+        DistributionSummary sizes = batchSizes;
+        if (sizes != null) {
+            sizes.record(bookings.size());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchWriter.insertAll(bookings));
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+            } else {
+                log.debug("Group commit of {} bookings failed, retrying one by one", batch.size(), ex);
+                for (PendingBooking pending : batch) {
+                    flush(List.of(pending));
+                }
+            }
+            return;
+        }
+        for (PendingBooking pending : batch) {
+            pending.result().complete(pending.booking());
+        }
+    }
+
+    private record PendingBooking(TicketBooking booking, CompletableFuture<TicketBooking> result) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.att.tdp.popcorn_palace.bootstrap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@link DataLoader}s once the application is ready, in stages: each stage holds the loaders
+ * whose dependencies finished in earlier stages, and its loaders run concurrently on virtual threads.
+ * Runs before the other ready listeners, so the in-memory indexes warm up on the loaded data.
+ */
+@Component
+public class BootstrapRunner implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(BootstrapRunner.class);
+
+    private final List<List<DataLoader>> stages;
+
+    public BootstrapRunner(List<DataLoader> loaders) {
+        this.stages = stages(loaders);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        run();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Runs every stage and logs how long each stage and each loader took.
+     */
+    public List<StageTiming> run() {
+        long start = System.nanoTime();
+        List<StageTiming> timings = new ArrayList<>(stages.size());
+        for (List<DataLoader> stage : stages) {
+            timings.add(runStage(timings.size() + 1, stage));
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Bootstrap finished in {} ms{}", Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                    timings.stream().map(timing -> "\n  " + timing).collect(Collectors.joining()));
+        }
+        return timings;
+    }
+
+    private StageTiming runStage(int number, List<DataLoader> stage) {
+        long start = System.nanoTime();
+        Map<String, Future<Duration>> running = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (DataLoader loader : stage) {
+                running.put(nameOf(loader), executor.submit(() -> {
+                    long loaderStart = System.nanoTime();
+                    loader.load();
+                    return Duration.ofNanos(System.nanoTime() - loaderStart);
+                }));
+            }
+        }
+        Map<String, Duration> loaders = new LinkedHashMap<>();
+        running.forEach((name, result) -> loaders.put(name, await(name, result)));
+        return new StageTiming(number, Duration.ofNanos(System.nanoTime() - start), loaders);
+    }
+
+    private static Duration await(String name, Future<Duration> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(name + " failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, ex);
+        }
+    }
+
+    /**
+     * Orders the loaders into stages: a loader lands in the first stage after all of its dependencies.
+     */
+    static List<List<DataLoader>> stages(List<DataLoader> loaders) {
+        Map<Class<?>, DataLoader> byClass = new LinkedHashMap<>();
+        for (DataLoader loader : loaders) {
+            byClass.put(ClassUtils.getUserClass(loader), loader);
+        }
+        for (DataLoader loader : loaders) {
+            for (Class<? extends DataLoader> dependency : loader.dependsOn()) {
+                if (!byClass.containsKey(dependency)) {
+                    throw new IllegalStateException(nameOf(loader) + " depends on " + dependency.getSimpleName()
+                            + ", which is not a registered loader");
+                }
+            }
+        }
+
+        List<List<DataLoader>> stages = new ArrayList<>();
+        List<DataLoader> pending = new ArrayList<>(loaders);
+        List<Class<?>> done = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            List<DataLoader> ready = pending.stream()
+                    .filter(loader -> done.containsAll(loader.dependsOn()))
+                    .toList();
+            if (ready.isEmpty()) {
+                throw new IllegalStateException("Loaders depend on each other in a cycle: "
+                        + pending.stream().map(BootstrapRunner::nameOf).collect(Collectors.joining(", ")));
+            }
+            stages.add(ready);
+            pending.removeAll(ready);
+            ready.forEach(loader -> done.add(ClassUtils.getUserClass(loader)));
+        }
+        return stages;
+    }
+
+    private static String nameOf(DataLoader loader) {
+        return ClassUtils.getUserClass(loader).getSimpleName();
+    }
+
+    /**
+     * How long one stage took in total and each of its loaders took on its own.
+     */
+    public record StageTiming(int stage, Duration elapsed, Map<String, Duration> loaders) {
+
+        @Override
+        public String toString() {
+            return "stage " + stage + " (" + elapsed.toMillis() + " ms): " + loaders.entrySet().stream()
+                    .map(entry -> entry.getKey() + " " + entry.getValue().toMillis() + " ms")
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
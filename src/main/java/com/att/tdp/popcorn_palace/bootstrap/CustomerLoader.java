@@ -2,11 +2,13 @@ package com.att.tdp.popcorn_palace.bootstrap;
 
 import com.att.tdp.popcorn_palace.model.Customer;
 import com.att.tdp.popcorn_palace.repository.CustomerRepository;
-import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Component
-public class CustomerLoader {
+public class CustomerLoader implements DataLoader {
 
     private final CustomerRepository customerRepository;
 
@@ -14,20 +16,36 @@ public class CustomerLoader {
         this.customerRepository = customerRepository;
     }
 
-    @PostConstruct
-    public void loadCustomers() {
-        if (customerRepository.count() == 0) {
-            Customer alice = new Customer();
-            alice.setFullName("Alice Johnson");
-            alice.setEmail("alice@example.com");
+    /**
+     * Seeds the sample customers into an empty customer table only.
+     */
+    @Override
+    @Transactional
+    public void load() {
+        if (customerRepository.findFirstByOrderByIdAsc().isPresent()) return;
+        customerRepository.saveAll(samples());
+    }
+
+    /**
+     * The sample customers already in the database, in sample order, found with one query.
+     */
+    static List<Customer> findSamples(CustomerRepository customerRepository) {
+        List<String> emails = samples().stream().map(Customer::getEmail).toList();
+        return customerRepository.findByEmailIn(emails).stream()
+                .sorted((a, b) -> Integer.compare(emails.indexOf(a.getEmail()), emails.indexOf(b.getEmail())))
+                .toList();
+    }
 
-            Customer bob = new Customer();
-            bob.setFullName("Bob Smith");
-            bob.setEmail("bob@example.com");
+    private static List<Customer> samples() {
+        return List.of(
+                customer("Alice Johnson", "alice@example.com"),
+                customer("Bob Smith", "bob@example.com"));
+    }
 
-            customerRepository.save(alice);
-            customerRepository.save(bob);
-        }
+    private static Customer customer(String fullName, String email) {
+        Customer customer = new Customer();
+        customer.setFullName(fullName);
+        customer.setEmail(email);
+        return customer;
     }
 }
-
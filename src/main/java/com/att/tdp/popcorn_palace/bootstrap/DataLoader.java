@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.bootstrap;
+
+import java.util.Set;
+
+/**
+ * One step of the startup sample data. {@link BootstrapRunner} starts a loader once every loader it
+ * depends on has finished; loaders whose dependencies are met at the same time run concurrently.
+ */
+public interface DataLoader {
+
+    /**
+     * Loaders that must have finished before this one starts.
+     */
+    default Set<Class<? extends DataLoader>> dependsOn() {
+        return Set.of();
+    }
+
+    /**
+     * Inserts the sample rows that are not in the database yet.
+     */
+    void load();
+}
@@ -2,11 +2,14 @@ package com.att.tdp.popcorn_palace.bootstrap;
 
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
-import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
 
 @Component
-public class MovieLoader {
+public class MovieLoader implements DataLoader {
 
     private final MovieRepository movieRepository;
 
@@ -14,25 +17,46 @@ public class MovieLoader {
         this.movieRepository = movieRepository;
     }
 
-    @PostConstruct
-    public void loadMovies() {
-        if (movieRepository.count() == 0) {
-            Movie inception = new Movie();
-            inception.setTitle("Inception");
-            inception.setGenre("Sci Fi");
-            inception.setDuration(148);
-            inception.setRating(8.8);
-            inception.setReleaseYear(2010);
-
-            Movie matrix = new Movie();
-            matrix.setTitle("The Matrix");
-            matrix.setGenre("Action");
-            matrix.setDuration(136);
-            matrix.setRating(8.7);
-            matrix.setReleaseYear(1999);
-
-            movieRepository.save(inception);
-            movieRepository.save(matrix);
-        }
+    /**
+     * Seeds the sample movies into an empty movie table only, so samples an operator deleted
+     * stay deleted.
+     */
+    @Override
+    @Transactional
+    public void load() {
+        if (movieRepository.findFirstByOrderByIdAsc().isPresent()) return;
+        movieRepository.saveAll(samples());
+    }
+
+    /**
+     * The sample movies already in the database, found with one query.
+     */
+    static List<Movie> findSamples(MovieRepository movieRepository) {
+        List<Movie> samples = samples();
+        return movieRepository.findByTitleIn(samples.stream().map(Movie::getTitle).toList()).stream()
+                .filter(movie -> samples.stream().anyMatch(sample -> sameMovie(movie, sample)))
+                .toList();
+    }
+
+    private static List<Movie> samples() {
+        return List.of(
+                movie("Inception", "Sci Fi", 148, 8.8, 2010),
+                movie("The Matrix", "Action", 136, 8.7, 1999));
+    }
+
+    private static Movie movie(String title, String genre, int duration, double rating, int releaseYear) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setDuration(duration);
+        movie.setRating(rating);
+        movie.setReleaseYear(releaseYear);
+        return movie;
+    }
+
+    private static boolean sameMovie(Movie a, Movie b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getGenre(), b.getGenre())
+                && a.getReleaseYear() == b.getReleaseYear();
     }
 }
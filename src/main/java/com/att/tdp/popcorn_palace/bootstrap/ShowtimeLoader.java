@@ -4,17 +4,18 @@ import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 @Component
-public class ShowtimeLoader implements ApplicationListener<ApplicationReadyEvent> {
+public class ShowtimeLoader implements DataLoader {
 
     private final MovieRepository movieRepository;
     private final ShowtimeRepository showtimeRepository;
@@ -24,15 +25,27 @@ public class ShowtimeLoader implements ApplicationListener<ApplicationReadyEvent
         this.showtimeRepository = showtimeRepository;
     }
 
+    @Override
+    public Set<Class<? extends DataLoader>> dependsOn() {
+        return Set.of(MovieLoader.class);
+    }
+
+    /**
+     * Seeds showtimes for the sample movies into an empty showtime table only. The fixed sample
+     * slots skip the overlap check, which is safe only while no other showtime exists.
+     */
     @Override
     @Transactional
-    public void onApplicationEvent(ApplicationReadyEvent event) {
-        List<Movie> movies = movieRepository.findAll();
+    public void load() {
+        if (showtimeRepository.findFirstByOrderByIdAsc().isPresent()) return;
+        List<Movie> movies = MovieLoader.findSamples(movieRepository).stream()
+                .sorted(Comparator.comparing(Movie::getId))
+                .toList();
+
+        List<Showtime> showtimes = new ArrayList<>();
         int theaterCounter = 0;
 
         for (Movie movie : movies) {
-            if (!showtimeRepository.findByMovie(movie).isEmpty()) continue;
-
             Showtime showtime = new Showtime();
             showtime.setMovie(movie);
             showtime.setTheater("Theater " + (char) ('A' + theaterCounter));
@@ -40,8 +53,16 @@ public class ShowtimeLoader implements ApplicationListener<ApplicationReadyEvent
             showtime.setEndTime(showtime.getStartTime().plusMinutes(movie.getDuration()));
             showtime.setPrice(BigDecimal.valueOf(30 + 5 * theaterCounter));
 
-            showtimeRepository.save(showtime);
+            showtimes.add(showtime);
             theaterCounter++;
         }
+        showtimeRepository.saveAll(showtimes);
+    }
+
+    /**
+     * The showtimes of the given sample movies, found with one query.
+     */
+    static List<Showtime> findSamples(ShowtimeRepository showtimeRepository, List<Movie> movies) {
+        return movies.isEmpty() ? List.of() : showtimeRepository.findByMovieIn(movies);
     }
 }
@@ -1,45 +1,62 @@
 package com.att.tdp.popcorn_palace.bootstrap;
 
 import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.model.TicketBooking;
 import com.att.tdp.popcorn_palace.repository.CustomerRepository;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
-import jakarta.transaction.Transactional;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
-public class TicketBookingLoader implements ApplicationListener<ApplicationReadyEvent> {
+public class TicketBookingLoader implements DataLoader {
 
     private final TicketBookingRepository bookingRepository;
+    private final MovieRepository movieRepository;
     private final ShowtimeRepository showtimeRepository;
     private final CustomerRepository customerRepository;
 
     public TicketBookingLoader(
         TicketBookingRepository bookingRepository,
+        MovieRepository movieRepository,
         ShowtimeRepository showtimeRepository,
         CustomerRepository customerRepository
     ) {
         this.bookingRepository = bookingRepository;
+        this.movieRepository = movieRepository;
         this.showtimeRepository = showtimeRepository;
         this.customerRepository = customerRepository;
     }
 
     @Override
-    @Transactional
-    public void onApplicationEvent(ApplicationReadyEvent event) {
-        if (bookingRepository.count() > 0) return;
+    public Set<Class<? extends DataLoader>> dependsOn() {
+        return Set.of(ShowtimeLoader.class, CustomerLoader.class);
+    }
 
-        List<Showtime> showtimes = showtimeRepository.findAll();
-        List<Customer> customers = customerRepository.findAll();
+    /**
+     * Seeds one booking per sample showtime into an empty booking table only.
+     */
+    @Override
+    @Transactional
+    public void load() {
+        if (bookingRepository.findFirstByOrderByIdAsc().isPresent()) return;
+        List<Movie> movies = MovieLoader.findSamples(movieRepository);
+        List<Showtime> showtimes = firstShowtimePerMovie(ShowtimeLoader.findSamples(showtimeRepository, movies));
+        List<Customer> customers = CustomerLoader.findSamples(customerRepository);
 
         if (showtimes.isEmpty() || customers.isEmpty()) return;
 
+        List<TicketBooking> bookings = new ArrayList<>();
         for (int i = 0; i < Math.min(showtimes.size(), customers.size()); i++) {
             Showtime showtime = showtimes.get(i);
             Customer customer = customers.get(i);
@@ -49,7 +66,17 @@ public class TicketBookingLoader implements ApplicationListener<ApplicationReady
             booking.setCustomer(customer);
             booking.setSeatNumber(10 + i);
 
-            bookingRepository.save(booking);
+            bookings.add(booking);
         }
+        bookingRepository.saveAll(bookings);
+    }
+
+    private static List<Showtime> firstShowtimePerMovie(Collection<Showtime> showtimes) {
+        return showtimes.stream()
+                .collect(Collectors.toMap(showtime -> showtime.getMovie().getId(), showtime -> showtime,
+                        (a, b) -> a.getId() < b.getId() ? a : b))
+                .values().stream()
+                .sorted(Comparator.comparing(Showtime::getId))
+                .toList();
     }
 }
@@ -0,0 +1,89 @@
+package com.att.tdp.popcorn_palace.cache;
+
+import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Near-cache of email to customer for the booking frontends, which resolve the customer by email on
+ * every purchase. Customers are never changed after creation, so an entry stays right until the
+ * customer is deleted; a delete on another node is only seen here once the entry expires. Misses are
+ * not cached, so a customer created elsewhere is found on the next lookup. Writes inside a transaction
+ * reach the cache only once it commits. Cached customers are detached and shared, so callers must
+ * treat them as read-only.
+ */
+@Component
+public class CustomerEmailCache implements MeterBinder {
+
+    private final CustomerRepository customerRepository;
+    private final Cache<String, Customer> byEmail;
+
+    public CustomerEmailCache(CustomerRepository customerRepository,
+                              @Value("${popcorn-palace.customer-cache.ttl:10m}") Duration ttl,
+                              @Value("${popcorn-palace.customer-cache.max-size:100000}") long maxSize) {
+        this.customerRepository = customerRepository;
+        this.byEmail = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached customer, or reads it through the email key and caches it.
+     */
+    public Optional<Customer> findByEmail(String email) {
+        Customer cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Customer> found = customerRepository.findByEmail(email);
+        found.ifPresent(this::put);
+        return found;
+    }
+
+    /**
+     * Caches a saved customer, once the current transaction commits if there is one.
+     */
+    public void put(Customer customer) {
+        afterCommit(() -> byEmail.put(customer.getEmail(), customer));
+    }
+
+    public void evict(String email) {
+        afterCommit(() -> byEmail.invalidate(email));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byEmail, "customers-by-email");
+    }
+
+    public CacheStats stats() {
+        return byEmail.stats();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
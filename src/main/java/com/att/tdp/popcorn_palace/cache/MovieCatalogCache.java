@@ -0,0 +1,110 @@
+package com.att.tdp.popcorn_palace.cache;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for the movie catalog, which changes a few times a day but is read on every
+ * showtime write. Movies are cached by id, and the whole catalog is kept as a separate snapshot
+ * for listing. Cached movies are detached and shared, so callers must treat them as read-only.
+ */
+@Component
+public class MovieCatalogCache implements MeterBinder {
+
+    private static final String SNAPSHOT_KEY = "all";
+
+    private final MovieRepository movieRepository;
+    private final LoadingCache<Long, Optional<Movie>> byId;
+    private final Cache<String, List<Movie>> snapshot;
+
+    public MovieCatalogCache(MovieRepository movieRepository,
+                             @Value("${popcorn-palace.movie-cache.ttl:10m}") Duration ttl,
+                             @Value("${popcorn-palace.movie-cache.max-size:10000}") long maxSize) {
+        this.movieRepository = movieRepository;
+        this.byId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build(movieRepository::findById);
+        this.snapshot = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(1)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Movie> findById(Long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Returns the movies found for {@code ids}, loading all misses with a single query.
+     */
+    public Map<Long, Movie> findAllById(Collection<Long> ids) {
+        Map<Long, Optional<Movie>> found = byId.getAll(ids, this::loadAll);
+        return found.values().stream()
+                .flatMap(Optional::stream)
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+    }
+
+    /**
+     * The full catalog ordered by id.
+     */
+    public List<Movie> findAll() {
+        return snapshot.get(SNAPSHOT_KEY, key -> List.copyOf(movieRepository.findAll(Sort.by("id"))));
+    }
+
+    /**
+     * Drops one movie and the listing snapshot after the movie was added, changed or removed.
+     * Unknown ids are cached as absent too, so creation must evict the new id as well.
+     */
+    public void evict(Long id) {
+        byId.invalidate(id);
+        snapshot.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "movies");
+        CaffeineCacheMetrics.monitor(registry, snapshot, "movie-catalog");
+    }
+
+    public CacheStats byIdStats() {
+        return byId.stats();
+    }
+
+    public CacheStats snapshotStats() {
+        return snapshot.stats();
+    }
+
+    private Map<Long, Optional<Movie>> loadAll(Set<? extends Long> ids) {
+        Map<Long, Movie> movies = movieRepository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        Map<Long, Optional<Movie>> result = new HashMap<>();
+        for (Long id : ids) {
+            result.put(id, Optional.ofNullable(movies.get(id)));
+        }
+        return result;
+    }
+}
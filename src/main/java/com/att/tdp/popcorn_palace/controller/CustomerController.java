@@ -1,5 +1,7 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.BookingPeriod;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.CustomerRequest;
 import com.att.tdp.popcorn_palace.dto.CustomerResponse;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
@@ -10,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/customers")
@@ -33,11 +34,15 @@ public class CustomerController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CustomerResponse>> getAll() {
-        List<CustomerResponse> customers = customerService.getAllCustomers().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<List<CustomerResponse>> getAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return PageResponses.ok(customerService.getAllCustomers(after, limit).map(this::toResponse));
+    }
+
+    @GetMapping(params = "email")
+    public ResponseEntity<CustomerResponse> getCustomerByEmail(@RequestParam String email) {
+        return ResponseEntity.ok(toResponse(customerService.getCustomerByEmail(email)));
     }
 
     @GetMapping("/{id}")
@@ -53,9 +58,13 @@ public class CustomerController {
     }
 
     @GetMapping("/{id}/bookings")
-    public ResponseEntity<List<TicketBookingResponse>> getBookingsForCustomer(@PathVariable Long id) {
-        List<TicketBookingResponse> bookings = customerService.getBookingsByCustomerId(id);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<List<TicketBookingResponse>> getBookingsForCustomer(
+            @PathVariable Long id,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return PageResponses.ok(customerService.getBookingsByCustomerId(
+                id, BookingPeriod.fromParameter(period), after, limit));
     }
 
     private CustomerResponse toResponse(Customer customer) {
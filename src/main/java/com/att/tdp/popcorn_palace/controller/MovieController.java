@@ -1,5 +1,6 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.MovieCreateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieResponse;
@@ -37,8 +38,21 @@ public class MovieController {
     }
 
     @GetMapping
-    public ResponseEntity<List<MovieResponse>> getAllMovies() {
-        return ResponseEntity.ok(movieService.getAllMovies());
+    public ResponseEntity<List<MovieResponse>> getAllMovies(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return PageResponses.ok(movieService.getAllMovies(after, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MovieResponse>> searchMovies(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return PageResponses.ok(movieService.searchMovies(q, genre, yearFrom, minRating, after, limit));
     }
 
     @PutMapping("/{id}")
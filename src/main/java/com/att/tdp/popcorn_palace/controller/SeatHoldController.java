@@ -0,0 +1,41 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.SeatHoldRequest;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponse;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/showtimes/{showtimeId}/holds")
+public class SeatHoldController {
+
+    private final SeatHoldService service;
+
+    public SeatHoldController(SeatHoldService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    public ResponseEntity<SeatHoldResponse> placeHold(@PathVariable Long showtimeId,
+                                                      @Valid @RequestBody SeatHoldRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.placeHold(showtimeId, request));
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<List<TicketBookingResponse>> confirmHold(@PathVariable Long showtimeId,
+                                                                   @PathVariable String holdId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.confirmHold(showtimeId, holdId));
+    }
+
+    @DeleteMapping("/{holdId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void releaseHold(@PathVariable Long showtimeId, @PathVariable String holdId) {
+        service.releaseHold(showtimeId, holdId);
+    }
+}
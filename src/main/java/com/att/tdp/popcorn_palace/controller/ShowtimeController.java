@@ -1,34 +1,58 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.cache.MovieCatalogCache;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.SeatMapResponse;
 import com.att.tdp.popcorn_palace.dto.ShowtimeRequest;
 import com.att.tdp.popcorn_palace.dto.ShowtimeResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleRequest;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleResponse;
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
-import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.seat.SeatChangeBus;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/showtimes")
 public class ShowtimeController {
 
+    private static final Duration KEEP_ALIVE = Duration.ofSeconds(15);
+
     private final ShowtimeService service;
-    private final MovieRepository movieRepository;
+    private final MovieCatalogCache movieCatalog;
+    private final SeatChangeBus seatChanges;
+    private final Duration streamTimeout;
 
-    public ShowtimeController(ShowtimeService service, MovieRepository movieRepository) {
+    public ShowtimeController(
+            ShowtimeService service,
+            MovieCatalogCache movieCatalog,
+            SeatChangeBus seatChanges,
+            @Value("${popcorn-palace.seat-stream.timeout:30m}") Duration streamTimeout) {
         this.service = service;
-        this.movieRepository = movieRepository;
+        this.movieCatalog = movieCatalog;
+        this.seatChanges = seatChanges;
+        this.streamTimeout = streamTimeout;
     }
 
     @PostMapping
     public ResponseEntity<ShowtimeResponse> createShowtime(@Valid @RequestBody ShowtimeRequest request) {
-        Movie movie = movieRepository.findById(request.getMovieId())
+        Movie movie = movieCatalog.findById(request.getMovieId())
             .orElseThrow(() -> new EntityNotFoundException("Movie not found with id: " + request.getMovieId()));
 
         Showtime showtime = new Showtime();
@@ -42,6 +66,28 @@ public class ShowtimeController {
         return ResponseEntity.ok(ShowtimeResponse.fromEntity(created));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<ShowtimeScheduleResponse> scheduleShowtimes(@Valid @RequestBody ShowtimeScheduleRequest request) {
+        Set<Long> movieIds = request.getShowtimes().stream()
+                .map(ShowtimeRequest::getMovieId)
+                .collect(Collectors.toSet());
+        Map<Long, Movie> movies = movieCatalog.findAllById(movieIds);
+        movieIds.stream()
+                .filter(movieId -> !movies.containsKey(movieId))
+                .findFirst()
+                .ifPresent(movieId -> {
+                    throw new EntityNotFoundException("Movie not found with id: " + movieId);
+                });
+
+        List<Showtime> showtimes = request.getShowtimes().stream()
+                .map(showtime -> showtime.toEntity(movies.get(showtime.getMovieId())))
+                .collect(Collectors.toList());
+
+        ShowtimeScheduleResponse response = service.scheduleShowtimes(showtimes);
+        HttpStatus status = response.hasConflicts() ? HttpStatus.CONFLICT : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ShowtimeResponse> getShowtime(@PathVariable Long id) {
         Showtime found = service.getShowtime(id);
@@ -52,7 +98,7 @@ public class ShowtimeController {
     public ResponseEntity<ShowtimeResponse> updateShowtime(
             @PathVariable Long id,
             @Valid @RequestBody ShowtimeRequest request) {
-        Movie movie = movieRepository.findById(request.getMovieId())
+        Movie movie = movieCatalog.findById(request.getMovieId())
                 .orElseThrow(() -> new EntityNotFoundException("Movie not found with id: " + request.getMovieId()));
         Showtime updated = service.updateShowtime(id, request.toEntity(movie));
         return ResponseEntity.ok(ShowtimeResponse.fromEntity(updated));
@@ -64,11 +110,71 @@ public class ShowtimeController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * The ETag is the bitset itself, so a client polling with {@code If-None-Match}
+     * gets a 304 until a seat is booked, cancelled, held or released.
+     */
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable Long id) {
+        SeatMapResponse seatMap = service.getSeatMap(id);
+        return ResponseEntity.ok()
+                .eTag(seatMap.getOccupied())
+                .cacheControl(CacheControl.noCache())
+                .body(seatMap);
+    }
+
+    /**
+     * Streams the seat map as server-sent events: a {@code snapshot} event with the full map,
+     * then a {@code seats} event for each batch of changes. A client that falls too far behind
+     * gets a fresh {@code snapshot} instead of the changes it missed.
+     */
+    @GetMapping(path = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatMap(@PathVariable Long id) throws IOException {
+        // subscribed before the snapshot is read, so no change can fall in between
+        SeatChangeBus.Subscription subscription = seatChanges.subscribe(id);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(service.getSeatMap(id)));
+        } catch (RuntimeException | IOException ex) {
+            subscription.close();
+            throw ex;
+        }
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscription.close());
+        Thread.ofVirtual().name("seat-stream-" + id).start(() -> pumpSeatChanges(id, subscription, emitter));
+        return emitter;
+    }
+
+    private void pumpSeatChanges(Long id, SeatChangeBus.Subscription subscription, SseEmitter emitter) {
+        try (subscription) {
+            while (true) {
+                SeatChangeBus.Batch batch = subscription.poll(KEEP_ALIVE);
+                if (subscription.isClosed()) {
+                    return;
+                }
+                if (batch == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else if (batch.resync()) {
+                    emitter.send(SseEmitter.event().name("snapshot").data(service.getSeatMap(id)));
+                } else {
+                    emitter.send(SseEmitter.event().name("seats").data(batch.changes()));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // the client went away or the emitter already completed
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<ShowtimeResponse>> getAllShowtimes() {
-        List<ShowtimeResponse> responses = service.getAllShowtimes().stream()
-                .map(ShowtimeResponse::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<ShowtimeResponse>> getAllShowtimes(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return PageResponses.ok(service.getAllShowtimes(after, limit).map(ShowtimeResponse::fromEntity));
     }
 }
@@ -1,36 +1,103 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.TicketBookingBatchRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
 import com.att.tdp.popcorn_palace.service.TicketBookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/bookings")
 public class TicketBookingController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final TicketBookingService service;
+    private final IdempotencyService idempotency;
+    private final ObjectMapper objectMapper;
+    private final boolean pipelined;
 
-    public TicketBookingController(TicketBookingService service) {
+    public TicketBookingController(
+            TicketBookingService service,
+            IdempotencyService idempotency,
+            ObjectMapper objectMapper,
+            @Value("${popcorn-palace.booking-pipeline.enabled:false}") boolean pipelined) {
         this.service = service;
+        this.idempotency = idempotency;
+        this.objectMapper = objectMapper;
+        this.pipelined = pipelined;
     }
 
+    /**
+     * With an {@code Idempotency-Key}, a retry of a booking that already went through gets the
+     * original 201 back, marked with {@code Idempotent-Replayed: true}, instead of a 409.
+     */
     @PostMapping
-    public ResponseEntity<TicketBookingResponse> bookTicket(@Valid @RequestBody TicketBookingRequest request) {
-        TicketBookingResponse response = service.bookTicket(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<TicketBookingResponse> bookTicket(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody TicketBookingRequest request) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(book(request));
+        }
+        // the pipeline commits the booking itself; holding a transaction across that wait would
+        // tie up a second connection per request
+        IdempotencyService.Outcome<TicketBookingResponse> outcome = pipelined
+                ? idempotency.executeThenStore(idempotencyKey, request, TicketBookingResponse.class, () -> book(request))
+                : idempotency.execute(idempotencyKey, request, TicketBookingResponse.class, () -> book(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+                .body(outcome.response());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<TicketBookingResponse>> bookTickets(@Valid @RequestBody TicketBookingBatchRequest request) {
+        List<TicketBookingResponse> responses = service.bookTickets(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
     }
 
     @GetMapping
-    public ResponseEntity<List<TicketBookingResponse>> getAllBookings() {
-        List<TicketBookingResponse> responses = service.getAllBookings();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<TicketBookingResponse>> getAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return PageResponses.ok(service.getAllBookings(after, limit));
+    }
+
+    /**
+     * Streams every booking as newline-delimited JSON, one row at a time off the database cursor.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        StreamingResponseBody body = out -> {
+            try {
+                service.exportBookings(booking -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(booking));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -43,4 +110,22 @@ public class TicketBookingController {
     public void cancelBooking(@PathVariable Long id) {
         service.cancelBooking(id);
     }
+
+    private TicketBookingResponse book(TicketBookingRequest request) {
+        return pipelined ? awaitCommit(service.submitBooking(request)) : service.bookTicket(request);
+    }
+
+    /**
+     * Requests run on virtual threads, so waiting for the group commit here costs no platform thread.
+     */
+    private static <T> T awaitCommit(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
 }
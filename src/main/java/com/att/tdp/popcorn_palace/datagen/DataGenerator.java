@@ -0,0 +1,328 @@
+package com.att.tdp.popcorn_palace.datagen;
+
+import com.att.tdp.popcorn_palace.bootstrap.DataLoader;
+import com.att.tdp.popcorn_palace.bootstrap.TicketBookingLoader;
+import com.att.tdp.popcorn_palace.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with synthetic data at production scale for load and performance tests.
+ * The same seed and scale always produce the same rows:
+ * <ul>
+ *     <li>movies whose popularity follows a Zipf curve, so a few titles get most showtimes and sales;</li>
+ *     <li>customers, a small share of whom make most of the bookings;</li>
+ *     <li>theaters with back-to-back, never overlapping showtimes from 10:00 to 23:00;</li>
+ *     <li>bookings per showtime driven by the movie's popularity, evenings and weekends, up to sold out.</li>
+ * </ul>
+ * Rows go out as JDBC batches (one multi-row INSERT each on MySQL with {@code rewriteBatchedStatements}),
+ * with ids reserved from the Hibernate generators. Runs as the last bootstrap stage; if the generated
+ * customers are already there the database is left as it is.
+ */
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.datagen.enabled", havingValue = "true")
+public class DataGenerator implements DataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final int SEATS = 100;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final int OPENING_HOUR = 10;
+    private static final int LAST_START_HOUR = 23;
+
+    private static final String[] GENRES =
+            {"Action", "Drama", "Comedy", "Sci Fi", "Thriller", "Animation", "Horror", "Romance", "Documentary"};
+    private static final String[] FIRST_NAMES =
+            {"Noa", "David", "Maya", "Daniel", "Tamar", "Yossi", "Shira", "Avi", "Lior", "Dana", "Omer", "Yael"};
+    private static final String[] LAST_NAMES =
+            {"Cohen", "Levi", "Mizrahi", "Peretz", "Biton", "Dahan", "Avraham", "Friedman", "Katz", "Azulay"};
+
+    private final CustomerRepository customerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long seed;
+    private final int movies;
+    private final int customers;
+    private final int theaters;
+    private final int showtimesPerTheater;
+    private final long bookings;
+    private final int batchSize;
+
+    public DataGenerator(
+            CustomerRepository customerRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${popcorn-palace.datagen.seed:42}") long seed,
+            @Value("${popcorn-palace.datagen.scale:1}") double scale,
+            @Value("${popcorn-palace.datagen.showtimes-per-theater:500}") int showtimesPerTheater,
+            @Value("${popcorn-palace.datagen.batch-size:1000}") int batchSize) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("popcorn-palace.datagen.scale must be positive");
+        }
+        this.customerRepository = customerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seed = seed;
+        this.movies = scaled(1_000, scale);
+        this.customers = scaled(50_000, scale);
+        this.theaters = scaled(20, scale);
+        this.showtimesPerTheater = showtimesPerTheater;
+        this.bookings = Math.min(scaled(500_000, scale), (long) theaters * showtimesPerTheater * SEATS);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Set<Class<? extends DataLoader>> dependsOn() {
+        return Set.of(TicketBookingLoader.class);
+    }
+
+    @Override
+    public void load() {
+        if (!customerRepository.findByEmailIn(List.of(email(0))).isEmpty()) {
+            log.info("Synthetic data is already present, not generating it again");
+            return;
+        }
+        IdBlocks ids = new IdBlocks(jdbcTemplate, transactionTemplate);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        ZipfDistribution moviePopularity = new ZipfDistribution(movies, 1.1);
+        long firstMovieId = ids.reserve("movie_seq", movies);
+        int[] durations = insertMovies(firstMovieId, random.split());
+        long firstCustomerId = ids.reserve("customer_seq", customers);
+        insertCustomers(firstCustomerId, random.split());
+        Schedule schedule = new Schedule(ids.reserve("showtime_seq", (long) theaters * showtimesPerTheater),
+                theaters * showtimesPerTheater);
+        insertShowtimes(schedule, firstMovieId, durations, moviePopularity, random.split());
+        long booked = insertBookings(ids.reserve("ticket_booking_seq", bookings), schedule, moviePopularity,
+                firstCustomerId, random.split());
+
+        log.info("Generated {} movies, {} customers, {} showtimes in {} theaters and {} bookings (seed {})",
+                movies, customers, schedule.size(), theaters, booked, seed);
+    }
+
+    /**
+     * Inserts the movies and returns their durations, indexed by popularity rank.
+     */
+    private int[] insertMovies(long firstId, SplittableRandom random) {
+        int[] durations = new int[movies];
+        try (Batch batch = new Batch(
+                "INSERT INTO movie (id, title, genre, duration, rating, release_year) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < movies; i++) {
+                durations[i] = 80 + random.nextInt(101);
+                batch.add(firstId + i, String.format("Synthetic Movie %06d", i), GENRES[random.nextInt(GENRES.length)],
+                        durations[i], random.nextInt(10, 100) / 10.0, 1970 + random.nextInt(61));
+            }
+        }
+        return durations;
+    }
+
+    private void insertCustomers(long firstId, SplittableRandom random) {
+        try (Batch batch = new Batch("INSERT INTO customer (id, full_name, email) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < customers; i++) {
+                String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                batch.add(firstId + i, name, email(i));
+            }
+        }
+    }
+
+    /**
+     * Schedules each theater back to back: every showtime starts 15 to 45 minutes after the previous one
+     * ends, and a start later than {@code LAST_START_HOUR} moves to the next morning.
+     */
+    private void insertShowtimes(Schedule schedule, long firstMovieId, int[] durations,
+                                 ZipfDistribution moviePopularity, SplittableRandom random) {
+        try (Batch batch = new Batch(
+                "INSERT INTO showtime (id, movie_id, theater, start_time, end_time, price) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int theater = 0; theater < theaters; theater++) {
+                String name = String.format("Synthetic Hall %03d", theater + 1);
+                LocalDateTime start = FIRST_DAY;
+                for (int i = 0; i < showtimesPerTheater; i++) {
+                    int movie = moviePopularity.sample(random);
+                    LocalDateTime end = start.plusMinutes(durations[movie]);
+                    BigDecimal price = BigDecimal.valueOf((isEvening(start) ? 45 : 30) + 5 * random.nextInt(3));
+
+                    batch.add(schedule.showtimeId(schedule.size()), firstMovieId + movie, name, start, end, price);
+                    schedule.add(movie, start);
+
+                    start = end.plusMinutes(15 + random.nextInt(31));
+                    if (start.getHour() >= LAST_START_HOUR || start.getHour() < OPENING_HOUR) {
+                        int days = start.getHour() < OPENING_HOUR ? 0 : 1;
+                        start = start.toLocalDate().plusDays(days).atTime(OPENING_HOUR, 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives each showtime a share of the bookings in proportion to its demand, capped at a sold-out hall,
+     * then books that many random seats for customers drawn from a Zipf curve.
+     */
+    private long insertBookings(long firstId, Schedule schedule, ZipfDistribution moviePopularity,
+                                long firstCustomerId, SplittableRandom random) {
+        double[] demand = new double[schedule.size()];
+        for (int i = 0; i < demand.length; i++) {
+            demand[i] = moviePopularity.probability(schedule.movie(i)) * timeFactor(schedule.start(i));
+        }
+        double scaleToTarget = demandScale(demand);
+
+        ZipfDistribution regulars = new ZipfDistribution(customers, 0.8);
+        int[] seats = new int[SEATS];
+        long booked = 0;
+        try (Batch batch = new Batch(
+                "INSERT INTO ticket_booking (id, showtime_id, customer_id, seat_number, booked_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int showtime = 0; showtime < demand.length && booked < bookings; showtime++) {
+                long wanted = Math.min(SEATS, Math.round(demand[showtime] * scaleToTarget));
+                int count = (int) Math.min(wanted, bookings - booked);
+                for (int seat = 0; seat < SEATS; seat++) {
+                    seats[seat] = seat + 1;
+                }
+                for (int i = 0; i < count; i++) {
+                    int pick = i + random.nextInt(SEATS - i);
+                    int seat = seats[pick];
+                    seats[pick] = seats[i];
+                    seats[i] = seat;
+
+                    LocalDateTime bookedAt = schedule.start(showtime).minusMinutes(random.nextInt(1, 14 * 24 * 60));
+                    batch.add(firstId + booked, schedule.showtimeId(showtime), firstCustomerId + regulars.sample(random),
+                            seat, bookedAt);
+                    booked++;
+                }
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * The factor that turns demand into booked seats so that, with every showtime capped at
+     * {@code SEATS}, the total comes to the requested number of bookings.
+     */
+    private double demandScale(double[] demand) {
+        double low = 0;
+        double high = 1;
+        while (seatsFor(demand, high) < bookings && high < 1e12) {
+            high *= 2;
+        }
+        for (int i = 0; i < 60; i++) {
+            double middle = (low + high) / 2;
+            if (seatsFor(demand, middle) < bookings) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    private static long seatsFor(double[] demand, double scale) {
+        long seats = 0;
+        for (double value : demand) {
+            seats += Math.min(SEATS, Math.round(value * scale));
+        }
+        return seats;
+    }
+
+    private static double timeFactor(LocalDateTime start) {
+        double factor = isEvening(start) ? 1.6 : start.getHour() < 14 ? 0.5 : 1.0;
+        DayOfWeek day = start.getDayOfWeek();
+        return day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY ? factor * 1.4 : factor;
+    }
+
+    private static boolean isEvening(LocalDateTime start) {
+        return start.getHour() >= 18;
+    }
+
+    static String email(int customer) {
+        return String.format("customer-%07d@datagen.local", customer);
+    }
+
+    private static int scaled(int base, double scale) {
+        return (int) Math.max(1, Math.round(base * scale));
+    }
+
+    /**
+     * Generated showtimes in id order: the movie rank and start of each, for the booking pass.
+     */
+    private static final class Schedule {
+
+        private final long firstId;
+        private final int[] movies;
+        private final LocalDateTime[] starts;
+        private int size;
+
+        Schedule(long firstId, int capacity) {
+            this.firstId = firstId;
+            this.movies = new int[capacity];
+            this.starts = new LocalDateTime[capacity];
+        }
+
+        void add(int movie, LocalDateTime start) {
+            movies[size] = movie;
+            starts[size] = start;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int movie(int showtime) {
+            return movies[showtime];
+        }
+
+        LocalDateTime start(int showtime) {
+            return starts[showtime];
+        }
+
+        long showtimeId(int showtime) {
+            return firstId + showtime;
+        }
+    }
+
+    /**
+     * Collects rows and sends them {@code batchSize} at a time, each batch in its own transaction.
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+                rows.clear();
+            }
+        }
+    }
+}
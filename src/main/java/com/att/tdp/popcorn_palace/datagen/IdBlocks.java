@@ -0,0 +1,63 @@
+package com.att.tdp.popcorn_palace.datagen;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+
+/**
+ * Reserves ranges of ids from the pooled Hibernate id generators ({@code movie_seq}, ...), so rows
+ * written over plain JDBC never collide with ids Hibernate hands out before or after them.
+ * Hibernate only uses ids up to the last value it fetched, which is below the generator's next value;
+ * a reservation starts at that next value and moves it far enough past the range that the block
+ * Hibernate fetches next starts above it.
+ */
+final class IdBlocks {
+
+    /**
+     * The {@code allocationSize} of the entities' {@code @SequenceGenerator}s.
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean h2;
+
+    IdBlocks(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            h2 = true;
+        } else if ("MySQL".equals(database)) {
+            h2 = false;
+        } else {
+            throw new IllegalStateException("Cannot reserve ids on " + database);
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids from the generator and returns the first one.
+     */
+    long reserve(String generator, long count) {
+        return transactionTemplate.execute(status -> {
+            long first;
+            if (h2) {
+                first = jdbcTemplate.queryForObject(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                        Long.class, generator.toUpperCase(Locale.ROOT));
+                jdbcTemplate.execute("ALTER SEQUENCE " + generator + " RESTART WITH " + next(first, count));
+            } else {
+                first = jdbcTemplate.queryForObject("SELECT next_val FROM " + generator + " FOR UPDATE", Long.class);
+                jdbcTemplate.update("UPDATE " + generator + " SET next_val = ?", next(first, count));
+            }
+            return first;
+        });
+    }
+
+    private static long next(long first, long count) {
+        return first + count + ALLOCATION_SIZE - 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.att.tdp.popcorn_palace.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Ranks {@code 0..size-1} with probability proportional to {@code 1 / (rank + 1)^exponent}, so a few
+ * ranks (blockbusters, regulars) take most of the draws and the long tail gets the rest.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * The share of all draws that land on {@code rank}.
+     */
+    double probability(int rank) {
+        double previous = rank == 0 ? 0 : cumulative[rank - 1];
+        return (cumulative[rank] - previous) / cumulative[cumulative.length - 1];
+    }
+
+    int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+}
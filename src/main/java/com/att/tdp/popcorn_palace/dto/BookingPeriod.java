@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Narrows a booking history to showtimes that have not started yet or already have.
+ */
+public enum BookingPeriod {
+    UPCOMING,
+    PAST;
+
+    /**
+     * Reads the {@code period} query parameter: {@code upcoming}, {@code past} (any case), or nothing for all.
+     */
+    public static BookingPeriod fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("period must be 'upcoming' or 'past'");
+        }
+    }
+}
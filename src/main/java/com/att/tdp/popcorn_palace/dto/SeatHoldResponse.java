@@ -0,0 +1,65 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import com.att.tdp.popcorn_palace.seat.SeatHold;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SeatHoldResponse {
+
+    private String holdId;
+    private Long showtimeId;
+    private Long customerId;
+    private List<Integer> seatNumbers;
+    private LocalDateTime expiresAt;
+
+    public static SeatHoldResponse fromHold(SeatHold hold) {
+        SeatHoldResponse response = new SeatHoldResponse();
+        response.setHoldId(hold.getId());
+        response.setShowtimeId(hold.getShowtimeId());
+        response.setCustomerId(hold.getCustomerId());
+        response.setSeatNumbers(hold.getSeatNumbers());
+        response.setExpiresAt(hold.getExpiresAt());
+        return response;
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public void setShowtimeId(Long showtimeId) {
+        this.showtimeId = showtimeId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public List<Integer> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<Integer> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
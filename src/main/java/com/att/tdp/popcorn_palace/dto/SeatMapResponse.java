@@ -0,0 +1,62 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import com.att.tdp.popcorn_palace.seat.SeatBitmap;
+
+import java.util.Base64;
+
+/**
+ * Seat availability of one showtime. {@code occupied} is a base64 bitset where bit
+ * {@code (n - 1) % 8} of byte {@code (n - 1) / 8} is set when seat {@code n} is booked or held.
+ */
+public class SeatMapResponse {
+
+    private Long showtimeId;
+    private int capacity;
+    private int available;
+    private String occupied;
+
+    public static SeatMapResponse fromBitmap(Long showtimeId, byte[] bits) {
+        int taken = 0;
+        for (byte b : bits) {
+            taken += Integer.bitCount(b & 0xFF);
+        }
+        SeatMapResponse response = new SeatMapResponse();
+        response.setShowtimeId(showtimeId);
+        response.setCapacity(SeatBitmap.CAPACITY);
+        response.setAvailable(SeatBitmap.CAPACITY - taken);
+        response.setOccupied(Base64.getEncoder().encodeToString(bits));
+        return response;
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public void setShowtimeId(Long showtimeId) {
+        this.showtimeId = showtimeId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+
+    public String getOccupied() {
+        return occupied;
+    }
+
+    public void setOccupied(String occupied) {
+        this.occupied = occupied;
+    }
+}
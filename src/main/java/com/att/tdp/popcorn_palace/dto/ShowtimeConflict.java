@@ -0,0 +1,49 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a bulk schedule that overlaps another showtime in the same theater.
+ * Exactly one of {@code conflictingShowtimeId} (an existing showtime) and
+ * {@code conflictingIndex} (another entry of the same request) is set.
+ */
+public class ShowtimeConflict {
+
+    private int index;
+    private String theater;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long conflictingShowtimeId;
+    private Integer conflictingIndex;
+
+    public ShowtimeConflict() {
+    }
+
+    public ShowtimeConflict(int index, String theater, LocalDateTime startTime, LocalDateTime endTime,
+                            Long conflictingShowtimeId, Integer conflictingIndex) {
+        this.index = index;
+        this.theater = theater;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.conflictingShowtimeId = conflictingShowtimeId;
+        this.conflictingIndex = conflictingIndex;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getTheater() { return theater; }
+    public void setTheater(String theater) { this.theater = theater; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public Long getConflictingShowtimeId() { return conflictingShowtimeId; }
+    public void setConflictingShowtimeId(Long conflictingShowtimeId) { this.conflictingShowtimeId = conflictingShowtimeId; }
+
+    public Integer getConflictingIndex() { return conflictingIndex; }
+    public void setConflictingIndex(Integer conflictingIndex) { this.conflictingIndex = conflictingIndex; }
+}
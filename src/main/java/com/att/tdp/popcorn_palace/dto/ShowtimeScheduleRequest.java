@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ShowtimeScheduleRequest {
+
+    @NotEmpty(message = "At least one showtime is required")
+    @Size(max = 5000, message = "At most 5000 showtimes can be scheduled at once")
+    private List<@Valid ShowtimeRequest> showtimes;
+
+    public List<ShowtimeRequest> getShowtimes() {
+        return showtimes;
+    }
+
+    public void setShowtimes(List<ShowtimeRequest> showtimes) {
+        this.showtimes = showtimes;
+    }
+}
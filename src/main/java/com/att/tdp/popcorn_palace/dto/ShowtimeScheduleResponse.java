@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import java.util.List;
+
+public class ShowtimeScheduleResponse {
+
+    private List<ShowtimeResponse> created;
+    private List<ShowtimeConflict> conflicts;
+
+    public ShowtimeScheduleResponse() {
+    }
+
+    public ShowtimeScheduleResponse(List<ShowtimeResponse> created, List<ShowtimeConflict> conflicts) {
+        this.created = created;
+        this.conflicts = conflicts;
+    }
+
+    public boolean hasConflicts() {
+        return conflicts != null && !conflicts.isEmpty();
+    }
+
+    public List<ShowtimeResponse> getCreated() { return created; }
+    public void setCreated(List<ShowtimeResponse> created) { this.created = created; }
+
+    public List<ShowtimeConflict> getConflicts() { return conflicts; }
+    public void setConflicts(List<ShowtimeConflict> conflicts) { this.conflicts = conflicts; }
+}
@@ -0,0 +1,48 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TicketBookingBatchRequest {
+
+    @NotNull(message = "Showtime ID is required")
+    private Long showtimeId;
+
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+
+    @NotEmpty(message = "At least one seat number is required")
+    @Size(max = 100, message = "At most 100 seats can be booked at once")
+    private List<@NotNull(message = "Seat number is required")
+                 @Min(value = 1, message = "Seat number must be at least 1")
+                 @Max(value = 100, message = "Seat number must be at most 100") Integer> seatNumbers;
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public void setShowtimeId(Long showtimeId) {
+        this.showtimeId = showtimeId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public List<Integer> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<Integer> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+}
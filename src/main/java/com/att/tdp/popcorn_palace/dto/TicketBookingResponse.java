@@ -45,6 +45,21 @@ public class TicketBookingResponse {
         this.bookedAt = bookedAt;
     }
 
+    /**
+     * Flat constructor used by the JPQL read-model queries in {@code TicketBookingRepository}.
+     */
+    public TicketBookingResponse(Long bookingId, Long showtimeId, Integer seatNumber,
+                                 Long customerId, String customerName, LocalDateTime bookedAt,
+                                 String theater, BigDecimal price, LocalDateTime startTime,
+                                 LocalDateTime endTime, String movieTitle) {
+        this(bookingId, showtimeId, seatNumber, customerId, customerName, bookedAt);
+        this.theater = theater;
+        this.price = price;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.movieTitle = movieTitle;
+    }
+
     public static TicketBookingResponse fromEntity(TicketBooking booking) {
         TicketBookingResponse response = new TicketBookingResponse(
                 booking.getId(),
@@ -1,7 +1,12 @@
 package com.att.tdp.popcorn_palace.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -10,28 +15,40 @@ import jakarta.persistence.EntityNotFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<String> handleNotFound(EntityNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        return counted(ex, ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage()));
     }
 
     @ExceptionHandler(ShowtimeConflictException.class)
     public ResponseEntity<String> handleConflict(ShowtimeConflictException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        return counted(ex, ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage()));
     }
 
     @ExceptionHandler(SeatAlreadyBookedException.class)
     public ResponseEntity<String> handleSeatAlreadyBooked(SeatAlreadyBookedException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        return counted(ex, ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return counted(ex, ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ex.getMessage()));
     }
 
     @ExceptionHandler(DuplicateMovieException.class)
     public ResponseEntity<String> handleDuplicateMovie(DuplicateMovieException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        return counted(ex, ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -39,12 +56,50 @@ public class GlobalExceptionHandler {
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors()
                 .forEach(err -> errors.put(err.getField(), err.getDefaultMessage()));
-        return ResponseEntity.badRequest().body(errors);
+        return counted(ex, ResponseEntity.badRequest().body(errors));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> handleInvalidRequest(InvalidRequestException ex) {
+        return counted(ex, ResponseEntity.badRequest().body(ex.getMessage()));
+    }
+
+    /**
+     * No connection became free within the pool's connection timeout; the client should back off.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<String> handleDatabaseUnavailable(RuntimeException ex) {
+        return counted(ex, ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Database is busy, please retry"));
+    }
+
+    @ExceptionHandler(CannotAcquireLockException.class)
+    public ResponseEntity<String> handleShowtimeBusy(CannotAcquireLockException ex) {
+        return counted(ex, ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleBookingQueueFull(RejectedExecutionException ex) {
+        return counted(ex, ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Booking queue is full, please retry"));
     }
 
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<String> handleIllegalState(IllegalStateException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        return counted(ex, ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage()));
     }
 
+    /**
+     * Counts every handled exception as {@code popcorn.errors}, tagged with its type and the status sent.
+     */
+    private <T> ResponseEntity<T> counted(Exception ex, ResponseEntity<T> response) {
+        meterRegistry.counter("popcorn.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(response.getStatusCode().value())).increment();
+        return response;
+    }
 }
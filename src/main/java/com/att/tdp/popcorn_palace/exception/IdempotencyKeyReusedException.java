@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.att.tdp.popcorn_palace.exception;
+
+/**
+ * A request that passed bean validation but is still malformed, such as a repeated seat or an
+ * out-of-range page limit. Reported as 400.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
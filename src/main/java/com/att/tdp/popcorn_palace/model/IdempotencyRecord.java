@@ -0,0 +1,65 @@
+package com.att.tdp.popcorn_palace.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response sent for an {@code Idempotency-Key}, kept so a retry with the same key gets the
+ * same answer instead of running the request again.
+ */
+@Entity
+@Table(name = "idempotency_key", indexes = @Index(name = "idx_idempotency_key_created_at", columnList = "createdAt"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String key;
+
+    /** SHA-256 of the request body, to reject a key reused for a different request. */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false, length = 4000)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String requestHash, String responseBody, LocalDateTime createdAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String getId() { return key; }
+
+    public String getRequestHash() { return requestHash; }
+
+    public String getResponseBody() { return responseBody; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    /**
+     * Keys are assigned by clients, so without this every save would first select the row.
+     */
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
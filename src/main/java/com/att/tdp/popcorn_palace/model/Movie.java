@@ -3,9 +3,11 @@ package com.att.tdp.popcorn_palace.model;
 import jakarta.persistence.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_movie_title_genre_year", columnList = "title, genre, releaseYear"))
 public class Movie {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
+    @SequenceGenerator(name = "movie_seq", sequenceName = "movie_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -6,10 +6,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_showtime_theater_start_end", columnList = "theater, startTime, endTime"))
 public class Showtime {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "showtime_seq")
+    @SequenceGenerator(name = "showtime_seq", sequenceName = "showtime_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -8,10 +8,15 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = TicketBooking.SEAT_CONSTRAINT, columnNames = {"showtime_id", "seat_number"}))
 public class TicketBooking {
 
+    public static final String SEAT_CONSTRAINT = "uk_ticket_booking_showtime_seat";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_booking_seq")
+    @SequenceGenerator(name = "ticket_booking_seq", sequenceName = "ticket_booking_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
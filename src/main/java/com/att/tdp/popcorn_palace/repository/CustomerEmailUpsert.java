@@ -0,0 +1,96 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.model.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates a customer unless one with the same email exists, in one statement on the
+ * {@code uk_customer_email} key, so concurrent creates of the same email all resolve to one row
+ * without a select-then-insert race. The id for a new row comes from the pooled {@code customer_seq}
+ * generator; when the email already exists that id is simply not used.
+ */
+@Repository
+public class CustomerEmailUpsert {
+
+    /**
+     * {@code LAST_INSERT_ID(expr)} makes the server report the new or the existing id as the
+     * statement's generated key.
+     */
+    private static final String MYSQL_UPSERT = """
+            INSERT INTO customer (id, full_name, email) VALUES (LAST_INSERT_ID(?), ?, ?)
+            ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)""";
+
+    private static final String H2_UPSERT = """
+            SELECT id FROM FINAL TABLE (
+                MERGE INTO customer c
+                USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255))))
+                    AS v (id, full_name, email)
+                ON c.email = v.email
+                WHEN MATCHED THEN UPDATE SET c.email = v.email
+                WHEN NOT MATCHED THEN INSERT (id, full_name, email) VALUES (v.id, v.full_name, v.email))""";
+
+    private final EntityManager entityManager;
+    private final boolean h2;
+
+    public CustomerEmailUpsert(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        var dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialect instanceof H2Dialect) {
+            h2 = true;
+        } else if (dialect instanceof MySQLDialect) {
+            h2 = false;
+        } else {
+            throw new IllegalStateException("Cannot upsert customers on " + dialect);
+        }
+    }
+
+    /**
+     * Inserts {@code customer} if its email is new and returns it with its id set, or returns the
+     * customer that already owns the email. Must run in a transaction.
+     */
+    public Customer createOrGet(Customer customer) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session
+                .getEntityPersister(null, customer).getGenerator();
+        long newId = (Long) generator.generate(session, customer, null, EventType.INSERT);
+
+        long id = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = h2
+                    ? connection.prepareStatement(H2_UPSERT)
+                    : connection.prepareStatement(MYSQL_UPSERT, Statement.RETURN_GENERATED_KEYS)) {
+                statement.setLong(1, newId);
+                statement.setString(2, customer.getFullName());
+                statement.setString(3, customer.getEmail());
+                try (ResultSet keys = h2 ? statement.executeQuery() : executeForKeys(statement)) {
+                    if (!keys.next()) {
+                        throw new IllegalStateException("Upsert of customer " + customer.getEmail() + " returned no id");
+                    }
+                    return keys.getLong(1);
+                }
+            }
+        });
+        if (id != newId) {
+            return entityManager.find(Customer.class, id);
+        }
+        customer.setId(id);
+        return customer;
+    }
+
+    private static ResultSet executeForKeys(PreparedStatement statement) throws SQLException {
+        statement.executeUpdate();
+        return statement.getGeneratedKeys();
+    }
+}
@@ -1,7 +1,20 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.model.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    Optional<Customer> findByEmail(String email);
+
+    List<Customer> findByEmailIn(Collection<String> emails);
+
+    Optional<Customer> findFirstByOrderByIdAsc();
 }
@@ -4,7 +4,15 @@ import com.att.tdp.popcorn_palace.model.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
     Movie findByTitleAndGenreAndReleaseYear(String title, String genre, int releaseYear);
-}
\ No newline at end of file
+
+    List<Movie> findByTitleIn(Collection<String> titles);
+
+    Optional<Movie> findFirstByOrderByIdAsc();
+}
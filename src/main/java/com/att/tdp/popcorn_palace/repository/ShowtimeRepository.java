@@ -2,14 +2,24 @@ package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.schedule.ShowtimeInterval;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
     List<Showtime> findByMovie(Movie movie);
+
+    List<Showtime> findByMovieIn(Collection<Movie> movies);
+
+    List<Showtime> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
     
     boolean existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(
         String theater,
@@ -23,4 +33,20 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
         LocalDateTime startTime,
         Long idToExclude
     );
+
+    @Query("select new com.att.tdp.popcorn_palace.schedule.ShowtimeInterval(s.id, s.theater, s.startTime, s.endTime) "
+         + "from Showtime s")
+    List<ShowtimeInterval> findAllIntervals();
+
+    @Query("select new com.att.tdp.popcorn_palace.schedule.ShowtimeInterval(s.id, s.theater, s.startTime, s.endTime) "
+         + "from Showtime s where s.theater = :theater")
+    List<ShowtimeInterval> findIntervalsByTheater(@Param("theater") String theater);
+
+    @Query("select new com.att.tdp.popcorn_palace.schedule.ShowtimeInterval(s.id, s.theater, s.startTime, s.endTime) "
+         + "from Showtime s where s.theater = :theater and s.startTime <= :end and s.endTime >= :start")
+    List<ShowtimeInterval> findIntervalsOverlapping(@Param("theater") String theater,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+
+    Optional<Showtime> findFirstByOrderByIdAsc();
 }
@@ -0,0 +1,40 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.model.TicketBooking;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Inserts many bookings in the current transaction. Ids come from the pooled {@code ticket_booking_seq}
+ * generator, so Hibernate sends the rows as JDBC batches of {@code hibernate.jdbc.batch_size}.
+ */
+@Repository
+public class TicketBookingBatchWriter {
+
+    private final EntityManager entityManager;
+
+    public TicketBookingBatchWriter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Inserts the bookings and assigns their ids. If the insert fails the ids are cleared again, so the
+     * same instances can be retried in another transaction.
+     */
+    public List<TicketBooking> insertAll(List<TicketBooking> bookings) {
+        try {
+            for (TicketBooking booking : bookings) {
+                entityManager.persist(booking);
+            }
+            entityManager.flush();
+        } catch (RuntimeException ex) {
+            for (TicketBooking booking : bookings) {
+                booking.setId(null);
+            }
+            throw ex;
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,68 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads every booking through a forward-only JDBC cursor, joined flat in SQL, so the export
+ * holds one row at a time instead of a persistence context full of entities.
+ */
+@Repository
+public class TicketBookingExportReader {
+
+    private static final String EXPORT_SQL = """
+            SELECT b.id, b.showtime_id, b.seat_number, b.customer_id, c.full_name, b.booked_at,
+                   s.theater, s.price, s.start_time, s.end_time, m.title
+            FROM ticket_booking b
+            JOIN customer c ON c.id = b.customer_id
+            JOIN showtime s ON s.id = b.showtime_id
+            JOIN movie m ON m.id = s.movie_id
+            ORDER BY b.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TicketBookingExportReader(DataSource dataSource,
+                                     @Value("${popcorn-palace.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Passes each booking to {@code sink} in id order as it comes off the cursor.
+     */
+    public void forEach(Consumer<TicketBookingResponse> sink) {
+        jdbcTemplate.query(EXPORT_SQL, rs -> {
+            sink.accept(mapRow(rs));
+        });
+    }
+
+    private static TicketBookingResponse mapRow(ResultSet rs) throws SQLException {
+        TicketBookingResponse response = new TicketBookingResponse(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getInt(3),
+                rs.getLong(4),
+                rs.getString(5),
+                toLocalDateTime(rs.getTimestamp(6))
+        );
+        response.setTheater(rs.getString(7));
+        response.setPrice(rs.getBigDecimal(8));
+        response.setStartTime(toLocalDateTime(rs.getTimestamp(9)));
+        response.setEndTime(toLocalDateTime(rs.getTimestamp(10)));
+        response.setMovieTitle(rs.getString(11));
+        return response;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
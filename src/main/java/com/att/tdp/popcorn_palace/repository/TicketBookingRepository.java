@@ -1,12 +1,56 @@
 package com.att.tdp.popcorn_palace.repository;
 
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
 import com.att.tdp.popcorn_palace.model.Customer;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.model.TicketBooking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface TicketBookingRepository extends JpaRepository<TicketBooking, Long> {
+
+    /**
+     * Booking, showtime, movie and customer joined in one select, shared by the read-model queries below.
+     */
+    String RESPONSE_SELECT = """
+            select new com.att.tdp.popcorn_palace.dto.TicketBookingResponse(
+                b.id, s.id, b.seatNumber, c.id, c.fullName, b.bookedAt,
+                s.theater, s.price, s.startTime, s.endTime, m.title)
+            from TicketBooking b join b.showtime s join s.movie m join b.customer c
+            """;
+
     boolean existsByShowtime(Showtime showtime);
     boolean existsByCustomer(Customer customer);
-    boolean existsByShowtimeAndSeatNumber(Showtime showtime, Integer seatNumber);
+
+    @Query(RESPONSE_SELECT + "where b.id = :id")
+    Optional<TicketBookingResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + "where b.id > :after order by b.id")
+    List<TicketBookingResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    @Query(RESPONSE_SELECT + "where c.id = :customerId and b.id > :after order by b.id")
+    List<TicketBookingResponse> findResponsesByCustomerId(
+            @Param("customerId") Long customerId, @Param("after") Long after, Limit limit);
+
+    @Query(RESPONSE_SELECT + "where c.id = :customerId and b.id > :after and s.startTime >= :now order by b.id")
+    List<TicketBookingResponse> findUpcomingResponsesByCustomerId(
+            @Param("customerId") Long customerId, @Param("after") Long after, @Param("now") LocalDateTime now,
+            Limit limit);
+
+    @Query(RESPONSE_SELECT + "where c.id = :customerId and b.id > :after and s.startTime < :now order by b.id")
+    List<TicketBookingResponse> findPastResponsesByCustomerId(
+            @Param("customerId") Long customerId, @Param("after") Long after, @Param("now") LocalDateTime now,
+            Limit limit);
+
+    @Query("select b.seatNumber from TicketBooking b where b.showtime.id = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    Optional<TicketBooking> findFirstByOrderByIdAsc();
 }
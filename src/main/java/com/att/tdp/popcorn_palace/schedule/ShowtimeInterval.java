@@ -0,0 +1,14 @@
+package com.att.tdp.popcorn_palace.schedule;
+
+import java.time.LocalDateTime;
+
+/**
+ * The time a showtime occupies its theater. Bounds are inclusive, matching the overlap
+ * rule used by {@code ShowtimeRepository}.
+ */
+public record ShowtimeInterval(Long id, String theater, LocalDateTime startTime, LocalDateTime endTime) {
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return !startTime.isAfter(end) && !endTime.isBefore(start);
+    }
+}
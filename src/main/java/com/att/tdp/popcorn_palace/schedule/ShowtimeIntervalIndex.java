@@ -0,0 +1,244 @@
+package com.att.tdp.popcorn_palace.schedule;
+
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-process index of showtime intervals, one sorted set per theater.
+ * Showtimes of a theater never overlap, so ordering them by start time is enough to
+ * answer an overlap query with a single floor lookup; every writer checks and saves a theater's
+ * showtimes under its lock, which keeps that true. The index is warmed at startup,
+ * loads unknown theaters lazily and is kept current by {@code ShowtimeServiceImpl};
+ * the database stays the final arbiter for anything written behind its back.
+ */
+@Component
+public class ShowtimeIntervalIndex {
+
+    private static final Comparator<ShowtimeInterval> BY_START =
+            Comparator.comparing(ShowtimeInterval::startTime).thenComparing(ShowtimeInterval::id);
+
+    private final ConcurrentMap<String, TheaterSchedule> theaters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, ShowtimeInterval> intervalsById = new ConcurrentHashMap<>();
+
+    private final ShowtimeRepository showtimeRepository;
+
+    public ShowtimeIntervalIndex(ShowtimeRepository showtimeRepository) {
+        this.showtimeRepository = showtimeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<String, List<ShowtimeInterval>> byTheater = showtimeRepository.findAllIntervals().stream()
+                .collect(Collectors.groupingBy(ShowtimeInterval::theater));
+        byTheater.forEach(this::install);
+    }
+
+    /**
+     * Returns a showtime of the theater overlapping [start, end], ignoring {@code excludeId}.
+     */
+    public Optional<ShowtimeInterval> findOverlap(String theater, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        return schedule(theater).findOverlap(start, end, excludeId);
+    }
+
+    /**
+     * Returns the showtimes of the theater overlapping [start, end], ordered by start time.
+     */
+    public List<ShowtimeInterval> findOverlapping(String theater, LocalDateTime start, LocalDateTime end) {
+        return schedule(theater).findOverlapping(start, end);
+    }
+
+    /**
+     * Runs the action while holding the theater's write lock, so that check-then-save
+     * sequences for the same theater do not interleave within this instance.
+     */
+    public <T> T withTheaterLock(String theater, Supplier<T> action) {
+        ReentrantLock lock = schedule(theater).mutationLock;
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the write locks of the theaters in name order and runs the action. Inside a transaction the
+     * locks are held until it commits or rolls back, so showtimes saved under them are visible, in the
+     * index and in the database, before another writer of those theaters checks for overlaps.
+     */
+    public <T> T withTheaterLocksUntilCompletion(Collection<String> theaters, Supplier<T> action) {
+        List<ReentrantLock> locks = new ArrayList<>();
+        for (String theater : new TreeSet<>(theaters)) {
+            ReentrantLock lock = schedule(theater).mutationLock;
+            lock.lock();
+            locks.add(lock);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return action.get();
+            } finally {
+                unlockAll(locks);
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlockAll(locks);
+            }
+        });
+        return action.get();
+    }
+
+    private static void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Records a saved showtime, once the current transaction commits if there is one.
+     * Any previous interval of the same showtime is replaced.
+     */
+    public void put(Showtime showtime) {
+        ShowtimeInterval interval = new ShowtimeInterval(
+                showtime.getId(), showtime.getTheater(), showtime.getStartTime(), showtime.getEndTime());
+        afterCommit(() -> {
+            ShowtimeInterval previous = intervalsById.put(interval.id(), interval);
+            if (previous != null) {
+                schedule(previous.theater()).remove(previous);
+            }
+            schedule(interval.theater()).add(interval);
+        });
+    }
+
+    public void remove(Long showtimeId) {
+        afterCommit(() -> {
+            ShowtimeInterval previous = intervalsById.remove(showtimeId);
+            if (previous != null) {
+                schedule(previous.theater()).remove(previous);
+            }
+        });
+    }
+
+    private TheaterSchedule schedule(String theater) {
+        TheaterSchedule schedule = theaters.get(theater);
+        if (schedule != null) {
+            return schedule;
+        }
+        return install(theater, showtimeRepository.findIntervalsByTheater(theater));
+    }
+
+    private TheaterSchedule install(String theater, List<ShowtimeInterval> intervals) {
+        TheaterSchedule loaded = new TheaterSchedule(intervals);
+        TheaterSchedule existing = theaters.putIfAbsent(theater, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        intervals.forEach(interval -> intervalsById.putIfAbsent(interval.id(), interval));
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class TheaterSchedule {
+
+        private final NavigableSet<ShowtimeInterval> intervals = new TreeSet<>(BY_START);
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReentrantLock mutationLock = new ReentrantLock();
+
+        TheaterSchedule(List<ShowtimeInterval> intervals) {
+            this.intervals.addAll(intervals);
+        }
+
+        Optional<ShowtimeInterval> findOverlap(LocalDateTime start, LocalDateTime end, Long excludeId) {
+            lock.readLock().lock();
+            try {
+                // Walk back from the last interval starting no later than `end`; since intervals
+                // do not overlap each other, the first one ending before `start` ends the search.
+                for (ShowtimeInterval interval : startingUpTo(end).descendingSet()) {
+                    if (interval.endTime().isBefore(start)) {
+                        break;
+                    }
+                    if (!interval.id().equals(excludeId)) {
+                        return Optional.of(interval);
+                    }
+                }
+                return Optional.empty();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<ShowtimeInterval> findOverlapping(LocalDateTime start, LocalDateTime end) {
+            lock.readLock().lock();
+            try {
+                List<ShowtimeInterval> overlapping = new ArrayList<>();
+                for (ShowtimeInterval interval : startingUpTo(end).descendingSet()) {
+                    if (interval.endTime().isBefore(start)) {
+                        break;
+                    }
+                    overlapping.add(interval);
+                }
+                Collections.reverse(overlapping);
+                return overlapping;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(ShowtimeInterval interval) {
+            lock.writeLock().lock();
+            try {
+                intervals.add(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(ShowtimeInterval interval) {
+            lock.writeLock().lock();
+            try {
+                intervals.remove(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private NavigableSet<ShowtimeInterval> startingUpTo(LocalDateTime end) {
+            return intervals.headSet(new ShowtimeInterval(Long.MAX_VALUE, null, end, end), true);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.att.tdp.popcorn_palace.search;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process search index over the movie catalog. Title words and genres map to sorted arrays of
+ * movie ids, and release years and ratings are kept as sorted columns, so a search intersects a few
+ * small arrays instead of reading the movie table. The index is built at startup and kept current by
+ * {@code MovieServiceImpl}; movies written behind its back are only picked up by {@link #warmUp()}.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final MovieRepository movieRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedMovie> movies = new HashMap<>();
+    private final SortedIds allIds = new SortedIds();
+    private final NavigableMap<String, SortedIds> titleWords = new TreeMap<>();
+    private final Map<String, SortedIds> genres = new HashMap<>();
+    private final SortedColumn years = new SortedColumn();
+    private final SortedColumn ratings = new SortedColumn();
+
+    public MovieSearchIndex(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Rebuilds the index from the movie table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Movie> catalog = movieRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            movies.clear();
+            allIds.clear();
+            titleWords.clear();
+            genres.clear();
+            years.clear();
+            ratings.clear();
+            catalog.forEach(movie -> index(IndexedMovie.of(movie)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the movies matching every given filter in id order, starting after {@code after} and
+     * stopping at {@code limit} movies. Every word of {@code query} must start a word of the title,
+     * ignoring case; {@code genre} must equal the genre, ignoring case; null filters match everything.
+     */
+    public List<Movie> search(String query, String genre, Integer yearFrom, Double minRating, long after, int limit) {
+        List<String> terms = words(query);
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String term : terms) {
+                candidates = intersect(candidates, startingWith(term));
+            }
+            if (genre != null) {
+                SortedIds matching = genres.get(normalize(genre));
+                candidates = intersect(candidates, matching != null ? matching.toArray() : new long[0]);
+            }
+            if (candidates == null) {
+                candidates = narrowestRange(yearFrom, minRating);
+            }
+
+            List<Movie> found = new ArrayList<>(Math.min(limit, candidates.length));
+            int from = Arrays.binarySearch(candidates, after);
+            for (int i = from >= 0 ? from + 1 : -from - 1; i < candidates.length && found.size() < limit; i++) {
+                IndexedMovie movie = movies.get(candidates[i]);
+                if ((yearFrom == null || movie.releaseYear() >= yearFrom)
+                        && (minRating == null || movie.rating() >= minRating)) {
+                    found.add(movie.toMovie());
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a saved movie, once the current transaction commits if there is one, replacing any
+     * earlier version of it.
+     */
+    public void put(Movie movie) {
+        IndexedMovie indexed = IndexedMovie.of(movie);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(indexed.id());
+                index(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long movieId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(movieId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void index(IndexedMovie movie) {
+        long id = movie.id();
+        movies.put(id, movie);
+        allIds.add(id);
+        for (String word : movie.titleWords()) {
+            titleWords.computeIfAbsent(word, key -> new SortedIds()).add(id);
+        }
+        genres.computeIfAbsent(normalize(movie.genre()), key -> new SortedIds()).add(id);
+        years.add(movie.releaseYear(), id);
+        ratings.add(movie.rating(), id);
+    }
+
+    private void unindex(long id) {
+        IndexedMovie movie = movies.remove(id);
+        if (movie == null) {
+            return;
+        }
+        allIds.remove(id);
+        for (String word : movie.titleWords()) {
+            removeFrom(titleWords, word, id);
+        }
+        removeFrom(genres, normalize(movie.genre()), id);
+        years.remove(movie.releaseYear(), id);
+        ratings.remove(movie.rating(), id);
+    }
+
+    private static void removeFrom(Map<String, SortedIds> postings, String key, long id) {
+        SortedIds ids = postings.get(key);
+        if (ids != null && ids.remove(id) && ids.size() == 0) {
+            postings.remove(key);
+        }
+    }
+
+    /**
+     * Ids of the movies with a title word starting with {@code prefix}.
+     */
+    private long[] startingWith(String prefix) {
+        Map<String, SortedIds> matching = titleWords.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matching.size() == 1) {
+            return matching.values().iterator().next().toArray();
+        }
+        return matching.values().stream()
+                .flatMapToLong(ids -> Arrays.stream(ids.toArray()))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Ids of the movies passing the more selective of the two range filters, or of all movies.
+     */
+    private long[] narrowestRange(Integer yearFrom, Double minRating) {
+        if (yearFrom == null && minRating == null) {
+            return allIds.toArray();
+        }
+        int yearFirst = yearFrom != null ? years.firstAtLeast(yearFrom) : 0;
+        int ratingFirst = minRating != null ? ratings.firstAtLeast(minRating) : 0;
+        int yearCount = yearFrom != null ? years.size() - yearFirst : Integer.MAX_VALUE;
+        int ratingCount = minRating != null ? ratings.size() - ratingFirst : Integer.MAX_VALUE;
+        long[] ids = yearCount <= ratingCount ? years.idsFrom(yearFirst) : ratings.idsFrom(ratingFirst);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Merges two sorted id arrays; {@code null} stands for all movies.
+     */
+    private static long[] intersect(long[] a, long[] b) {
+        if (a == null) {
+            return b;
+        }
+        long[] both = new long[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                both[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, size);
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(normalize(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * The indexed copy of a movie, detached from the persistence context.
+     */
+    private record IndexedMovie(long id, String title, String genre, int duration, double rating,
+                                int releaseYear, List<String> titleWords) {
+
+        static IndexedMovie of(Movie movie) {
+            return new IndexedMovie(movie.getId(), movie.getTitle(), movie.getGenre(), movie.getDuration(),
+                    movie.getRating(), movie.getReleaseYear(), words(movie.getTitle()));
+        }
+
+        Movie toMovie() {
+            Movie movie = new Movie();
+            movie.setId(id);
+            movie.setTitle(title);
+            movie.setGenre(genre);
+            movie.setDuration(duration);
+            movie.setRating(rating);
+            movie.setReleaseYear(releaseYear);
+            return movie;
+        }
+    }
+
+    /**
+     * A growable sorted array of distinct ids.
+     */
+    private static final class SortedIds {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * Movie ids ordered by a numeric value and then by id, for range filters.
+     */
+    private static final class SortedColumn {
+
+        private double[] values = new double[16];
+        private long[] ids = new long[16];
+        private int size;
+
+        void add(double value, long id) {
+            int at = position(value, id);
+            if (size == ids.length) {
+                values = Arrays.copyOf(values, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            values[at] = value;
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(double value, long id) {
+            int at = position(value, id);
+            if (at < size && values[at] == value && ids[at] == id) {
+                System.arraycopy(values, at + 1, values, at, size - at - 1);
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Index of the first entry with a value of at least {@code min}.
+         */
+        int firstAtLeast(double min) {
+            return position(min, Long.MIN_VALUE);
+        }
+
+        long[] idsFrom(int first) {
+            return Arrays.copyOfRange(ids, first, size);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * Index of the first entry not ordered before (value, id).
+         */
+        private int position(double value, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value || (values[mid] == value && ids[mid] < id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy of the seats of a single showtime, one bit per seat.
+ * Seats are numbered 1..{@link #CAPACITY}, so the whole hall fits in two longs.
+ * All mutations are lock-free compare-and-set operations.
+ */
+public final class SeatBitmap {
+
+    public static final int CAPACITY = 100;
+
+    private static final int WORDS = (CAPACITY + 63) / 64;
+
+    private final AtomicLongArray words = new AtomicLongArray(WORDS);
+
+    /**
+     * Marks the seat as taken.
+     *
+     * @return {@code true} if the seat was free and is now claimed by the caller,
+     *         {@code false} if it was already taken
+     */
+    public boolean claim(int seatNumber) {
+        int word = wordIndex(seatNumber);
+        long mask = bitMask(seatNumber);
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /**
+     * Marks the seat as free.
+     *
+     * @return {@code true} if the seat was taken before the call
+     */
+    public boolean release(int seatNumber) {
+        int word = wordIndex(seatNumber);
+        long mask = bitMask(seatNumber);
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current & ~mask));
+        return true;
+    }
+
+    public boolean isTaken(int seatNumber) {
+        return (words.get(wordIndex(seatNumber)) & bitMask(seatNumber)) != 0;
+    }
+
+    public int occupiedCount() {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Copies the bitmap into {@code ceil(CAPACITY / 8)} bytes, seat {@code n} at bit
+     * {@code (n - 1) % 8} of byte {@code (n - 1) / 8}. Each word is read once, so the copy
+     * is cheap enough to take on every poll.
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[(CAPACITY + 7) / 8];
+        for (int i = 0; i < WORDS; i++) {
+            long word = words.get(i);
+            for (int b = 0; b < 8 && i * 8 + b < bytes.length; b++) {
+                bytes[i * 8 + b] = (byte) (word >>> (b * 8));
+            }
+        }
+        return bytes;
+    }
+
+    private static int wordIndex(int seatNumber) {
+        if (seatNumber < 1 || seatNumber > CAPACITY) {
+            throw new IllegalArgumentException("Seat number must be between 1 and " + CAPACITY);
+        }
+        return (seatNumber - 1) >>> 6;
+    }
+
+    private static long bitMask(int seatNumber) {
+        return 1L << ((seatNumber - 1) & 63);
+    }
+}
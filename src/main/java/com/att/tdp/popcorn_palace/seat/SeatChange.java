@@ -0,0 +1,19 @@
+package com.att.tdp.popcorn_palace.seat;
+
+/**
+ * A single seat of a showtime changing state. Carries the new state rather than a toggle,
+ * so a subscriber can drop all but the latest change of a seat and still end up correct.
+ */
+public record SeatChange(Long showtimeId, int seatNumber, Type type) {
+
+    public enum Type {
+        BOOKED,
+        CANCELLED,
+        HELD,
+        RELEASED
+    }
+
+    public boolean taken() {
+        return type == Type.BOOKED || type == Type.HELD;
+    }
+}
@@ -0,0 +1,179 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out of {@link SeatChange}s to the watchers of a showtime. Publishing only
+ * appends to each subscriber's buffer; every subscriber drains its own buffer at its own pace.
+ * <p>
+ * Buffers are bounded. A newer change of a seat replaces the pending one, and a subscriber
+ * that falls more than {@code buffer-size} seats behind loses its pending changes and is told
+ * to resync from a full seat map instead, so a slow client never holds more than one buffer.
+ */
+@Component
+public class SeatChangeBus {
+
+    private final ConcurrentMap<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final int bufferSize;
+
+    public SeatChangeBus(@Value("${popcorn-palace.seat-stream.buffer-size:32}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Subscription subscribe(Long showtimeId) {
+        Subscription subscription = new Subscription(showtimeId);
+        subscribers.computeIfAbsent(showtimeId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Publishes the changes once the current transaction commits, or immediately when there
+     * is no transaction. Nothing is published on rollback.
+     */
+    public void publishAfterCommit(Long showtimeId, Collection<Integer> seatNumbers, SeatChange.Type type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(showtimeId, seatNumbers, type);
+                }
+            });
+        } else {
+            publish(showtimeId, seatNumbers, type);
+        }
+    }
+
+    public void publish(Long showtimeId, Collection<Integer> seatNumbers, SeatChange.Type type) {
+        Set<Subscription> watchers = subscribers.get(showtimeId);
+        if (watchers == null || watchers.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : watchers) {
+            subscription.offer(seatNumbers, type);
+        }
+    }
+
+    public int subscriberCount(Long showtimeId) {
+        Set<Subscription> watchers = subscribers.get(showtimeId);
+        return watchers == null ? 0 : watchers.size();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.showtimeId, (id, watchers) -> {
+            watchers.remove(subscription);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    /**
+     * What a subscriber has missed since its last poll: either the pending changes, oldest
+     * first, or a request to reload the whole seat map.
+     */
+    public record Batch(List<SeatChange> changes, boolean resync) {
+    }
+
+    public final class Subscription implements AutoCloseable {
+
+        private final Long showtimeId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final LinkedHashMap<Integer, SeatChange> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private boolean closed;
+
+        private Subscription(Long showtimeId) {
+            this.showtimeId = showtimeId;
+        }
+
+        public Long getShowtimeId() {
+            return showtimeId;
+        }
+
+        private void offer(Collection<Integer> seatNumbers, SeatChange.Type type) {
+            lock.lock();
+            try {
+                if (closed || overflowed) {
+                    return;
+                }
+                for (Integer seatNumber : seatNumbers) {
+                    // re-inserted so the map stays in publish order
+                    pending.remove(seatNumber);
+                    pending.put(seatNumber, new SeatChange(showtimeId, seatNumber, type));
+                }
+                if (pending.size() > bufferSize) {
+                    pending.clear();
+                    overflowed = true;
+                }
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Waits up to {@code timeout} for changes and takes all of them.
+         *
+         * @return the pending changes, or {@code null} on timeout or once the subscription is closed
+         */
+        public Batch poll(Duration timeout) throws InterruptedException {
+            long remaining = timeout.toNanos();
+            lock.lock();
+            try {
+                while (!closed && !overflowed && pending.isEmpty()) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = changed.awaitNanos(remaining);
+                }
+                if (closed) {
+                    return null;
+                }
+                if (overflowed) {
+                    overflowed = false;
+                    return new Batch(List.of(), true);
+                }
+                Batch batch = new Batch(new ArrayList<>(pending.values()), false);
+                pending.clear();
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isClosed() {
+            lock.lock();
+            try {
+                return closed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                closed = true;
+                pending.clear();
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seats set aside for one customer until {@link #getExpiresAt()}. Ordered by deadline so it can sit
+ * in a {@link java.util.concurrent.DelayQueue}.
+ */
+public final class SeatHold implements Delayed {
+
+    private final String id;
+    private final Long showtimeId;
+    private final Long customerId;
+    private final List<Integer> seatNumbers;
+    private final LocalDateTime expiresAt;
+    private final long deadlineNanos;
+
+    public SeatHold(String id, Long showtimeId, Long customerId, List<Integer> seatNumbers, Duration ttl) {
+        this.id = id;
+        this.showtimeId = showtimeId;
+        this.customerId = customerId;
+        this.seatNumbers = List.copyOf(seatNumbers);
+        this.expiresAt = LocalDateTime.now().plus(ttl);
+        this.deadlineNanos = System.nanoTime() + ttl.toNanos();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public List<Integer> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return getDelay(TimeUnit.NANOSECONDS) <= 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
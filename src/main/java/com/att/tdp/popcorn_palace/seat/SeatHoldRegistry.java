@@ -0,0 +1,65 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+
+/**
+ * Active seat holds by id, plus a {@link DelayQueue} that hands each hold back once it is due.
+ * A hold is live only while it is in the map; whoever removes it first (confirm, release or
+ * expiry) owns its seats, so stale queue entries are simply ignored.
+ */
+@Component
+public class SeatHoldRegistry {
+
+    private final ConcurrentMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final DelayQueue<SeatHold> expiries = new DelayQueue<>();
+
+    public void add(SeatHold hold) {
+        holds.put(hold.getId(), hold);
+        expiries.add(hold);
+    }
+
+    public Optional<SeatHold> find(String holdId) {
+        return Optional.ofNullable(holds.get(holdId));
+    }
+
+    /**
+     * Takes the hold out of the registry.
+     *
+     * @return {@code false} if it was already confirmed, released or expired
+     */
+    public boolean remove(SeatHold hold) {
+        return holds.remove(hold.getId(), hold);
+    }
+
+    /**
+     * Puts back a hold that was removed for a confirmation that did not go through.
+     */
+    public void restore(SeatHold hold) {
+        if (holds.putIfAbsent(hold.getId(), hold) == null) {
+            expiries.add(hold);
+        }
+    }
+
+    /**
+     * Blocks until the next hold is due.
+     */
+    public SeatHold takeDue() throws InterruptedException {
+        return expiries.take();
+    }
+
+    /**
+     * Seats currently held for the showtime, used when its seat bitmap is rebuilt.
+     */
+    public List<Integer> heldSeats(Long showtimeId) {
+        return holds.values().stream()
+                .filter(hold -> hold.getShowtimeId().equals(showtimeId))
+                .flatMap(hold -> hold.getSeatNumbers().stream())
+                .toList();
+    }
+}
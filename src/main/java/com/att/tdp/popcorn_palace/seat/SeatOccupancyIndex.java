@@ -0,0 +1,162 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory seat occupancy for every showtime that has been touched since startup.
+ * A showtime's bitmap is loaded lazily from {@code ticket_booking} on first access;
+ * after that, availability checks and conflicting bookings never reach the database.
+ * Seats under an active {@link SeatHold} are marked taken as well.
+ */
+@Component
+public class SeatOccupancyIndex {
+
+    private final ConcurrentMap<Long, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketBookingRepository bookingRepository;
+    private final SeatHoldRegistry holdRegistry;
+
+    public SeatOccupancyIndex(ShowtimeRepository showtimeRepository, TicketBookingRepository bookingRepository,
+                              SeatHoldRegistry holdRegistry) {
+        this.showtimeRepository = showtimeRepository;
+        this.bookingRepository = bookingRepository;
+        this.holdRegistry = holdRegistry;
+    }
+
+    /**
+     * Returns the bitmap of the showtime, loading it from the database if needed.
+     *
+     * @throws EntityNotFoundException if the showtime does not exist
+     */
+    public SeatBitmap seats(Long showtimeId) {
+        SeatBitmap seats = bitmaps.get(showtimeId);
+        if (seats != null) {
+            return seats;
+        }
+        // Loaded outside of the map so the JDBC calls never run under a map bin lock.
+        SeatBitmap loaded = load(showtimeId);
+        SeatBitmap existing = bitmaps.putIfAbsent(showtimeId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Claims the seat for the current transaction. If the transaction does not commit,
+     * the seat is released again.
+     *
+     * @throws SeatAlreadyBookedException if the seat is already taken
+     */
+    public void claim(Long showtimeId, int seatNumber) {
+        SeatBitmap seats = seats(showtimeId);
+        if (!seats.claim(seatNumber)) {
+            throw new SeatAlreadyBookedException("Seat already booked for this showtime");
+        }
+        releaseOnRollback(seats, List.of(seatNumber));
+    }
+
+    /**
+     * Claims all the seats or none of them, for the current transaction.
+     *
+     * @throws SeatAlreadyBookedException listing every seat that is already taken
+     */
+    public void claimAll(Long showtimeId, Collection<Integer> seatNumbers) {
+        SeatBitmap seats = seats(showtimeId);
+        List<Integer> claimed = new ArrayList<>(seatNumbers.size());
+        List<Integer> taken = new ArrayList<>();
+        for (Integer seatNumber : seatNumbers) {
+            if (seats.claim(seatNumber)) {
+                claimed.add(seatNumber);
+            } else {
+                taken.add(seatNumber);
+            }
+        }
+        if (!taken.isEmpty()) {
+            claimed.forEach(seats::release);
+            throw new SeatAlreadyBookedException("Seats already booked for this showtime: " + taken);
+        }
+        releaseOnRollback(seats, claimed);
+    }
+
+    /**
+     * Frees the seat once the current transaction commits, or immediately when
+     * there is no transaction.
+     */
+    public void releaseAfterCommit(Long showtimeId, int seatNumber) {
+        SeatBitmap seats = bitmaps.get(showtimeId);
+        if (seats == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    seats.release(seatNumber);
+                }
+            });
+        } else {
+            seats.release(seatNumber);
+        }
+    }
+
+    /**
+     * Frees the seats right away, e.g. when a hold on them ends.
+     */
+    public void releaseAll(Long showtimeId, Collection<Integer> seatNumbers) {
+        SeatBitmap seats = bitmaps.get(showtimeId);
+        if (seats != null) {
+            seatNumbers.forEach(seats::release);
+        }
+    }
+
+    /**
+     * Drops the cached bitmap so that the next access reloads it from the database.
+     */
+    public void invalidate(Long showtimeId) {
+        bitmaps.remove(showtimeId);
+    }
+
+    private static void releaseOnRollback(SeatBitmap seats, List<Integer> seatNumbers) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return ShowtimeLockManager.UNLOCK_ORDER - 1;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        seatNumbers.forEach(seats::release);
+                    }
+                }
+            });
+        }
+    }
+
+    private SeatBitmap load(Long showtimeId) {
+        if (!showtimeRepository.existsById(showtimeId)) {
+            throw new EntityNotFoundException("Showtime not found");
+        }
+        SeatBitmap seats = new SeatBitmap();
+        for (Integer seatNumber : bookingRepository.findSeatNumbersByShowtimeId(showtimeId)) {
+            seats.claim(seatNumber);
+        }
+        // held seats exist only in memory and must survive a reload
+        for (Integer seatNumber : holdRegistry.heldSeats(showtimeId)) {
+            seats.claim(seatNumber);
+        }
+        return seats;
+    }
+}
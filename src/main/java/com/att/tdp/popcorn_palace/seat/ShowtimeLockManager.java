@@ -0,0 +1,171 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes seat mutations per showtime with a fixed array of locks. A showtime always maps to
+ * the same stripe, so bookings and cancellations of one showtime run one at a time while other
+ * showtimes, which land on other stripes, proceed in parallel. Two showtimes share a stripe only
+ * by hash collision, which more stripes make rarer.
+ * <p>
+ * Writers take the lock before starting their transaction and release it once the transaction
+ * has completed, so the next writer sees the committed rows and a writer waiting for a busy
+ * showtime does not sit on a pooled connection. {@link ReentrantLock} parks a waiting virtual
+ * thread instead of pinning its carrier.
+ */
+@Component
+public class ShowtimeLockManager implements MeterBinder {
+
+    /**
+     * Order of the synchronization that unlocks at the end of a transaction. Seat index updates
+     * made on completion use a smaller order, so they are visible before the next writer gets in.
+     */
+    public static final int UNLOCK_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final ReentrantLock[] stripes;
+    private final Duration timeout;
+    private final AtomicLongArray acquisitions;
+    private final AtomicLongArray contended;
+    private final AtomicLongArray waitNanos;
+
+    public ShowtimeLockManager(@Value("${popcorn-palace.locks.stripes:64}") int stripeCount,
+                               @Value("${popcorn-palace.locks.timeout:2s}") Duration timeout) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("popcorn-palace.locks.stripes must be positive");
+        }
+        // rounded up to a power of two so the stripe is a mask of the hash
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeout = timeout;
+        this.acquisitions = new AtomicLongArray(size);
+        this.contended = new AtomicLongArray(size);
+        this.waitNanos = new AtomicLongArray(size);
+    }
+
+    /**
+     * Runs {@code action} holding the showtime's lock. {@code action} starts and completes its own
+     * transaction, so no connection is taken until the lock is free. Called inside a transaction,
+     * which already holds a connection, the lock is kept until that transaction completes.
+     *
+     * @throws CannotAcquireLockException if the lock is not free within the timeout
+     */
+    public <T> T withLock(Long showtimeId, Supplier<T> action) {
+        ReentrantLock lock = acquire(showtimeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return UNLOCK_ORDER;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int stripeOf(Long showtimeId) {
+        int h = Long.hashCode(showtimeId);
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * Per-stripe counters since startup, in stripe order.
+     */
+    public List<StripeStats> stats() {
+        List<StripeStats> stats = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stats.add(new StripeStats(i, acquisitions.get(i), contended.get(i),
+                    Duration.ofNanos(waitNanos.get(i)), stripes[i].getQueueLength()));
+        }
+        return stats;
+    }
+
+    /**
+     * Registers the per-stripe meters, tagged with {@code stripe}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < stripes.length; i++) {
+            int stripe = i;
+            String tag = String.valueOf(stripe);
+            FunctionCounter.builder("popcorn.showtime.locks.acquisitions", acquisitions, a -> a.get(stripe))
+                    .tag("stripe", tag)
+                    .register(registry);
+            // count is the contended acquisitions, total time is what they spent waiting
+            FunctionTimer.builder("popcorn.showtime.locks.wait", this,
+                            m -> m.contended.get(stripe), m -> m.waitNanos.get(stripe), TimeUnit.NANOSECONDS)
+                    .tag("stripe", tag)
+                    .register(registry);
+            Gauge.builder("popcorn.showtime.locks.queued", stripes[stripe], ReentrantLock::getQueueLength)
+                    .tag("stripe", tag)
+                    .register(registry);
+        }
+    }
+
+    private ReentrantLock acquire(Long showtimeId) {
+        int stripe = stripeOf(showtimeId);
+        ReentrantLock lock = stripes[stripe];
+        acquisitions.incrementAndGet(stripe);
+        if (lock.tryLock()) {
+            return lock;
+        }
+        contended.incrementAndGet(stripe);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for showtime " + showtimeId, ex);
+        } finally {
+            waitNanos.addAndGet(stripe, System.nanoTime() - start);
+        }
+        if (!acquired) {
+            throw new CannotAcquireLockException("Showtime " + showtimeId + " is busy, please retry");
+        }
+        return lock;
+    }
+
+    /**
+     * @param acquisitions lock requests, including ones that had to wait
+     * @param contended    requests that found the stripe already held
+     * @param waited       total time spent waiting for the stripe
+     * @param queueLength  threads waiting right now (an estimate)
+     */
+    public record StripeStats(int stripe, long acquisitions, long contended, Duration waited, int queueLength) {
+    }
+}
@@ -1,14 +1,15 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.dto.BookingPeriod;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
 import com.att.tdp.popcorn_palace.model.Customer;
 
-import java.util.List;
-
 public interface CustomerService {
     Customer createCustomer(Customer customer);
-    List<Customer> getAllCustomers();
+    CursorPage<Customer> getAllCustomers(Long after, int limit);
     void deleteCustomer(Long id);
     Customer getCustomerById(Long id);
-    List<TicketBookingResponse> getBookingsByCustomerId(Long customerId);
+    Customer getCustomerByEmail(String email);
+    CursorPage<TicketBookingResponse> getBookingsByCustomerId(Long customerId, BookingPeriod period, Long after, int limit);
 }
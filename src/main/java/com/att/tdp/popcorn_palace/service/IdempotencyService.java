@@ -0,0 +1,28 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code action} once per key. A later call with the same key and an equal request
+     * gets the stored response back without running the action again.
+     *
+     * @throws com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException if the key was
+     *         already used for a different request
+     */
+    <T> Outcome<T> execute(String key, Object request, Class<T> responseType, Supplier<T> action);
+
+    /**
+     * Like {@link #execute}, for actions that commit their own writes and wait for them, such as the
+     * group-commit booking pipeline. The action runs outside any transaction, and the response is
+     * stored in a short transaction of its own once the action returns, so no connection is held
+     * while the action waits. If the response cannot be stored, a retry runs the action again.
+     */
+    <T> Outcome<T> executeThenStore(String key, Object request, Class<T> responseType, Supplier<T> action);
+
+    int purgeExpired();
+
+    record Outcome<T>(T response, boolean replayed) {
+    }
+}
@@ -1,16 +1,17 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.MovieCreateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieResponse;
 
-import java.util.List;
-
 public interface MovieService {
     MovieResponse createMovie(MovieCreateRequest request);
-    List<MovieResponse> getAllMovies();
+    CursorPage<MovieResponse> getAllMovies(Long after, int limit);
     MovieResponse updateMovie(Long id, MovieUpdateRequest request);
     void deleteMovie(Long id);
     MovieResponse getMovieById(Long id);
+    CursorPage<MovieResponse> searchMovies(String query, String genre, Integer yearFrom, Double minRating,
+                                           Long after, int limit);
 }
 
@@ -0,0 +1,13 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.SeatHoldRequest;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponse;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+
+import java.util.List;
+
+public interface SeatHoldService {
+    SeatHoldResponse placeHold(Long showtimeId, SeatHoldRequest request);
+    List<TicketBookingResponse> confirmHold(Long showtimeId, String holdId);
+    void releaseHold(Long showtimeId, String holdId);
+}
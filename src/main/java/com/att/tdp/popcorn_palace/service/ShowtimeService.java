@@ -1,5 +1,8 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.SeatMapResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleResponse;
 import com.att.tdp.popcorn_palace.model.Showtime;
 
 import java.util.List;
@@ -7,7 +10,9 @@ import java.util.List;
 public interface ShowtimeService {
     Showtime createShowtime(Showtime showtime);
     Showtime getShowtime(Long id);
+    SeatMapResponse getSeatMap(Long id);
     Showtime updateShowtime(Long id, Showtime updated);
     void deleteShowtime(Long id);
-    List<Showtime> getAllShowtimes();
+    CursorPage<Showtime> getAllShowtimes(Long after, int limit);
+    ShowtimeScheduleResponse scheduleShowtimes(List<Showtime> showtimes);
 }
\ No newline at end of file
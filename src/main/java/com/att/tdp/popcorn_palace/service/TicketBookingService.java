@@ -1,13 +1,21 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.TicketBookingBatchRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface TicketBookingService {
     TicketBookingResponse bookTicket(TicketBookingRequest booking);
-    List<TicketBookingResponse> getAllBookings();
+    CompletableFuture<TicketBookingResponse> submitBooking(TicketBookingRequest booking);
+    List<TicketBookingResponse> bookTickets(TicketBookingBatchRequest request);
+    List<TicketBookingResponse> bookHeldSeats(Long showtimeId, Long customerId, List<Integer> seatNumbers);
+    CursorPage<TicketBookingResponse> getAllBookings(Long after, int limit);
+    void exportBookings(Consumer<TicketBookingResponse> sink);
     TicketBookingResponse getBooking(Long id);
     void cancelBooking(Long id);
 }
@@ -1,37 +1,57 @@
 package com.att.tdp.popcorn_palace.service.impl;
 
+import com.att.tdp.popcorn_palace.cache.CustomerEmailCache;
+import com.att.tdp.popcorn_palace.dto.BookingPeriod;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.model.Customer;
-import com.att.tdp.popcorn_palace.model.TicketBooking;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.repository.CustomerEmailUpsert;
 import com.att.tdp.popcorn_palace.repository.CustomerRepository;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
 import com.att.tdp.popcorn_palace.service.CustomerService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("popcorn.service")
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final TicketBookingRepository bookingRepository;
+    private final CustomerEmailUpsert customerEmailUpsert;
+    private final CustomerEmailCache customerEmailCache;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, TicketBookingRepository bookingRepository) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, TicketBookingRepository bookingRepository,
+                               CustomerEmailUpsert customerEmailUpsert, CustomerEmailCache customerEmailCache) {
         this.customerRepository = customerRepository;
         this.bookingRepository = bookingRepository;
+        this.customerEmailUpsert = customerEmailUpsert;
+        this.customerEmailCache = customerEmailCache;
     }
 
+    /**
+     * Creates the customer, or returns the existing one when the email is already registered. Always
+     * goes to the database, since a cached customer may have been deleted on another node.
+     */
     @Override
+    @Transactional
     public Customer createCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer owner = customerEmailUpsert.createOrGet(customer);
+        customerEmailCache.put(owner);
+        return owner;
     }
 
     @Override
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    public CursorPage<Customer> getAllCustomers(Long after, int limit) {
+        List<Customer> rows = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.afterOrStart(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return CursorPage.of(rows, limit, Customer::getId);
     }
 
     @Override
@@ -46,6 +66,7 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         customerRepository.delete(customer);
+        customerEmailCache.evict(customer.getEmail());
     }
 
     @Override
@@ -55,11 +76,27 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public List<TicketBookingResponse> getBookingsByCustomerId(Long customerId) {
-        Customer customer = getCustomerById(customerId);
-        List<TicketBooking> bookings = customer.getBookings();
-        return bookings.stream()
-                .map(TicketBookingResponse::fromEntity)
-                .collect(Collectors.toList());
+    public Customer getCustomerByEmail(String email) {
+        return customerEmailCache.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Customer with email " + email + " not found"));
+    }
+
+    @Override
+    public CursorPage<TicketBookingResponse> getBookingsByCustomerId(
+            Long customerId, BookingPeriod period, Long after, int limit) {
+        Limit fetch = Limit.of(CursorPage.checkLimit(limit) + 1);
+        if (!customerRepository.existsById(customerId)) {
+            throw new EntityNotFoundException("Customer with id " + customerId + " not found");
+        }
+        long start = CursorPage.afterOrStart(after);
+        List<TicketBookingResponse> rows = period == null
+                ? bookingRepository.findResponsesByCustomerId(customerId, start, fetch)
+                : switch (period) {
+                    case UPCOMING -> bookingRepository.findUpcomingResponsesByCustomerId(
+                            customerId, start, LocalDateTime.now(), fetch);
+                    case PAST -> bookingRepository.findPastResponsesByCustomerId(
+                            customerId, start, LocalDateTime.now(), fetch);
+                };
+        return CursorPage.of(rows, limit, TicketBookingResponse::getBookingId);
     }
 }
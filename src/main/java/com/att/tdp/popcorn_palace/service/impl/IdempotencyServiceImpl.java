@@ -0,0 +1,247 @@
+package com.att.tdp.popcorn_palace.service.impl;
+
+import com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.model.IdempotencyRecord;
+import com.att.tdp.popcorn_palace.repository.IdempotencyRecordRepository;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Stores the response of each keyed request in the {@code idempotency_key} table, in the same
+ * transaction as the request's own writes or, for actions that commit on their own, right after
+ * them, and keeps recent ones in a bounded Caffeine cache so most retries are answered from memory.
+ * A retry that arrives while the first attempt is still running waits for it instead of racing it.
+ */
+@Service
+@Timed("popcorn.service")
+public class IdempotencyServiceImpl implements IdempotencyService, MeterBinder {
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> recent;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(
+        IdempotencyRecordRepository recordRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        @Value("${popcorn-palace.idempotency.ttl:24h}") Duration ttl,
+        @Value("${popcorn-palace.idempotency.max-size:100000}") long maxSize) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.recent = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, IdempotencyRecord>() {
+                    @Override
+                    public long expireAfterCreate(String key, IdempotencyRecord record, long currentTime) {
+                        return remainingTtl(record).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, IdempotencyRecord record, long currentTime,
+                                                  long currentDuration) {
+                        return remainingTtl(record).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, IdempotencyRecord record, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public <T> Outcome<T> execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        return run(key, request, responseType, action, true);
+    }
+
+    @Override
+    public <T> Outcome<T> executeThenStore(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        return run(key, request, responseType, action, false);
+    }
+
+    private <T> Outcome<T> run(String key, Object request, Class<T> responseType, Supplier<T> action,
+                               boolean sameTransaction) {
+        if (key.isBlank() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(
+                    "Idempotency-Key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        IdempotencyRecord stored = find(key);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+
+        CompletableFuture<IdempotencyRecord> attempt = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, attempt);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+        try {
+            // an attempt may have finished between the lookup and taking the slot; it caches
+            // its record before giving the slot up
+            stored = recent.getIfPresent(key);
+            if (stored != null) {
+                attempt.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+            Committed<T> committed;
+            try {
+                if (sameTransaction) {
+                    committed = transactionTemplate.execute(status -> {
+                        T response = action.get();
+                        return new Committed<>(response, store(key, requestHash, response));
+                    });
+                } else {
+                    T response = action.get();
+                    committed = new Committed<>(response,
+                            transactionTemplate.execute(status -> store(key, requestHash, response)));
+                }
+            } catch (DataIntegrityViolationException ex) {
+                // another node stored the key first; an expired row it left behind is not replayed
+                stored = recordRepository.findById(key).filter(this::isFresh).orElseThrow(() -> ex);
+                recent.put(key, stored);
+                attempt.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+            recent.put(key, committed.record());
+            attempt.complete(committed.record());
+            return new Outcome<>(committed.response(), false);
+        } catch (RuntimeException ex) {
+            attempt.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, attempt);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, recent, "idempotency");
+    }
+
+    /**
+     * Deletes stored responses older than the TTL. Replays already ignore them, so this only
+     * keeps the table small.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${popcorn-palace.idempotency.cleanup-interval:1h}",
+               initialDelayString = "${popcorn-palace.idempotency.cleanup-interval:1h}")
+    public int purgeExpired() {
+        return recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private IdempotencyRecord find(String key) {
+        IdempotencyRecord record = recent.getIfPresent(key);
+        if (record != null) {
+            return record;
+        }
+        // after a restart the table is the only copy
+        record = recordRepository.findById(key).orElse(null);
+        if (record == null) {
+            return null;
+        }
+        if (!isFresh(record)) {
+            // expired but not purged yet: drop it so this attempt can store its own response
+            transactionTemplate.executeWithoutResult(status ->
+                    recordRepository.deleteByKeyAndCreatedAtBefore(key, LocalDateTime.now().minus(ttl)));
+            return null;
+        }
+        recent.put(key, record);
+        return record;
+    }
+
+    private IdempotencyRecord store(String key, String requestHash, Object response) {
+        return recordRepository.save(new IdempotencyRecord(key, requestHash, toJson(response), LocalDateTime.now()));
+    }
+
+    private boolean isFresh(IdempotencyRecord record) {
+        return record.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl));
+    }
+
+    /**
+     * How long a record stays replayable, counted from when it was first stored rather than from
+     * when this instance cached it.
+     */
+    private Duration remainingTtl(IdempotencyRecord record) {
+        Duration remaining = Duration.between(LocalDateTime.now(), record.getCreatedAt().plus(ttl));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private <T> Outcome<T> replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return new Outcome<>(objectMapper.readValue(record.getResponseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for Idempotency-Key is unreadable", e);
+        }
+    }
+
+    private record Committed<T>(T response, IdempotencyRecord record) {
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            // the first attempt failed; the retry reports the same failure
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.att.tdp.popcorn_palace.service.impl;
 
+import com.att.tdp.popcorn_palace.cache.MovieCatalogCache;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.MovieCreateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieResponse;
@@ -8,23 +10,30 @@ import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.search.MovieSearchIndex;
 import com.att.tdp.popcorn_palace.service.MovieService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("popcorn.service")
 public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
     private final ShowtimeRepository showtimeRepository;
+    private final MovieCatalogCache movieCatalog;
+    private final MovieSearchIndex movieSearch;
 
-    public MovieServiceImpl(MovieRepository movieRepository, ShowtimeRepository showtimeRepository) {
+    public MovieServiceImpl(MovieRepository movieRepository, ShowtimeRepository showtimeRepository,
+                            MovieCatalogCache movieCatalog, MovieSearchIndex movieSearch) {
         this.movieRepository = movieRepository;
         this.showtimeRepository = showtimeRepository;
+        this.movieCatalog = movieCatalog;
+        this.movieSearch = movieSearch;
     }
 
     @Override
@@ -43,22 +52,27 @@ public class MovieServiceImpl implements MovieService {
         movie.setRating(request.getRating());
         movie.setReleaseYear(request.getReleaseYear());
 
-        return mapToResponse(movieRepository.save(movie));
+        Movie saved = movieRepository.save(movie);
+        movieCatalog.evict(saved.getId());
+        movieSearch.put(saved);
+        return mapToResponse(saved);
     }
 
     @Override
     public MovieResponse getMovieById(Long id) {
-        Movie movie = movieRepository.findById(id)
+        Movie movie = movieCatalog.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Movie with id " + id + " not found"));
 
         return mapToResponse(movie);
     }
 
     @Override
-    public List<MovieResponse> getAllMovies() {
-        return movieRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<MovieResponse> getAllMovies(Long after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Movie> catalog = movieCatalog.findAll();
+        int from = firstIndexAfter(catalog, CursorPage.afterOrStart(after));
+        List<Movie> rows = catalog.subList(from, Math.min(catalog.size(), from + limit + 1));
+        return CursorPage.of(rows, limit, Movie::getId).map(this::mapToResponse);
     }
 
     @Override
@@ -70,7 +84,10 @@ public class MovieServiceImpl implements MovieService {
         movie.setGenre(request.getGenre());
         movie.setRating(request.getRating());
 
-        return mapToResponse(movieRepository.save(movie));
+        Movie saved = movieRepository.save(movie);
+        movieCatalog.evict(id);
+        movieSearch.put(saved);
+        return mapToResponse(saved);
     }
 
     @Override
@@ -84,6 +101,33 @@ public class MovieServiceImpl implements MovieService {
         }
 
         movieRepository.delete(movie);
+        movieCatalog.evict(id);
+        movieSearch.remove(id);
+    }
+
+    @Override
+    public CursorPage<MovieResponse> searchMovies(String query, String genre, Integer yearFrom, Double minRating,
+                                                  Long after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Movie> rows = movieSearch.search(query, genre, yearFrom, minRating, CursorPage.afterOrStart(after), limit + 1);
+        return CursorPage.of(rows, limit, Movie::getId).map(this::mapToResponse);
+    }
+
+    /**
+     * Binary search over the id-ordered catalog for the first movie with an id above {@code after}.
+     */
+    private static int firstIndexAfter(List<Movie> catalog, long after) {
+        int low = 0;
+        int high = catalog.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalog.get(mid).getId() <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     private MovieResponse mapToResponse(Movie movie) {
@@ -0,0 +1,152 @@
+package com.att.tdp.popcorn_palace.service.impl;
+
+import com.att.tdp.popcorn_palace.dto.SeatHoldRequest;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponse;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.repository.CustomerRepository;
+import com.att.tdp.popcorn_palace.seat.SeatChange;
+import com.att.tdp.popcorn_palace.seat.SeatChangeBus;
+import com.att.tdp.popcorn_palace.seat.SeatHold;
+import com.att.tdp.popcorn_palace.seat.SeatHoldRegistry;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.att.tdp.popcorn_palace.service.TicketBookingService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Two-phase booking: seats are held in memory first and only written to the database when the
+ * hold is confirmed. Holds that are neither confirmed nor released are expired by a background
+ * thread waiting on the registry's delay queue, so no sweeper query is needed.
+ */
+@Service
+@Timed("popcorn.service")
+public class SeatHoldServiceImpl implements SeatHoldService, SmartLifecycle {
+
+    private final SeatHoldRegistry holdRegistry;
+    private final SeatOccupancyIndex seatIndex;
+    private final TicketBookingService bookingService;
+    private final CustomerRepository customerRepository;
+    private final SeatChangeBus seatChanges;
+    private final Duration holdTtl;
+
+    private volatile Thread expiryThread;
+
+    public SeatHoldServiceImpl(
+        SeatHoldRegistry holdRegistry,
+        SeatOccupancyIndex seatIndex,
+        TicketBookingService bookingService,
+        CustomerRepository customerRepository,
+        SeatChangeBus seatChanges,
+        @Value("${popcorn-palace.holds.ttl:5m}") Duration holdTtl) {
+        this.holdRegistry = holdRegistry;
+        this.seatIndex = seatIndex;
+        this.bookingService = bookingService;
+        this.customerRepository = customerRepository;
+        this.seatChanges = seatChanges;
+        this.holdTtl = holdTtl;
+    }
+
+    @Override
+    public SeatHoldResponse placeHold(Long showtimeId, SeatHoldRequest request) {
+        List<Integer> seatNumbers = request.getSeatNumbers();
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new InvalidRequestException("Seat numbers must not repeat");
+        }
+        // checked up front, not at confirm time, so unknown customers cannot tie up seats
+        if (!customerRepository.existsById(request.getCustomerId())) {
+            throw new EntityNotFoundException("Customer not found");
+        }
+
+        // No transaction here, so the claim stays until the hold is confirmed, released or expires.
+        seatIndex.claimAll(showtimeId, seatNumbers);
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), showtimeId, request.getCustomerId(),
+                seatNumbers, holdTtl);
+        holdRegistry.add(hold);
+        seatChanges.publish(showtimeId, seatNumbers, SeatChange.Type.HELD);
+        return SeatHoldResponse.fromHold(hold);
+    }
+
+    @Override
+    public List<TicketBookingResponse> confirmHold(Long showtimeId, String holdId) {
+        SeatHold hold = findHold(showtimeId, holdId);
+        if (!holdRegistry.remove(hold)) {
+            throw holdNotFound(holdId);
+        }
+        try {
+            return bookingService.bookHeldSeats(showtimeId, hold.getCustomerId(), hold.getSeatNumbers());
+        } catch (RuntimeException ex) {
+            // Give the seats back to the hold so the client can retry until it expires.
+            if (hold.isExpired()) {
+                release(hold);
+            } else {
+                holdRegistry.restore(hold);
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void releaseHold(Long showtimeId, String holdId) {
+        SeatHold hold = findHold(showtimeId, holdId);
+        if (holdRegistry.remove(hold)) {
+            release(hold);
+        }
+    }
+
+    @Override
+    public void start() {
+        expiryThread = Thread.ofVirtual().name("seat-hold-expiry").start(this::expireHolds);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = expiryThread;
+        expiryThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return expiryThread != null;
+    }
+
+    private void expireHolds() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                SeatHold hold = holdRegistry.takeDue();
+                if (holdRegistry.remove(hold)) {
+                    release(hold);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void release(SeatHold hold) {
+        seatIndex.releaseAll(hold.getShowtimeId(), hold.getSeatNumbers());
+        seatChanges.publish(hold.getShowtimeId(), hold.getSeatNumbers(), SeatChange.Type.RELEASED);
+    }
+
+    private SeatHold findHold(Long showtimeId, String holdId) {
+        return holdRegistry.find(holdId)
+                .filter(hold -> hold.getShowtimeId().equals(showtimeId))
+                .orElseThrow(() -> holdNotFound(holdId));
+    }
+
+    private static EntityNotFoundException holdNotFound(String holdId) {
+        return new EntityNotFoundException("Hold " + holdId + " not found or expired");
+    }
+}
@@ -1,29 +1,54 @@
 package com.att.tdp.popcorn_palace.service.impl;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.SeatMapResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeConflict;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleResponse;
 import com.att.tdp.popcorn_palace.exception.ShowtimeConflictException;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
+import com.att.tdp.popcorn_palace.schedule.ShowtimeInterval;
+import com.att.tdp.popcorn_palace.schedule.ShowtimeIntervalIndex;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("popcorn.service")
 public class ShowtimeServiceImpl implements ShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
     private final TicketBookingRepository bookingRepository;
+    private final ShowtimeIntervalIndex intervalIndex;
+    private final SeatOccupancyIndex seatIndex;
 
     public ShowtimeServiceImpl(
         TicketBookingRepository bookingRepository,
         ShowtimeRepository showtimeRepository,
-        MovieRepository movieRepository
+        MovieRepository movieRepository,
+        ShowtimeIntervalIndex intervalIndex,
+        SeatOccupancyIndex seatIndex
     ) {
         this.bookingRepository = bookingRepository;
         this.showtimeRepository = showtimeRepository;
+        this.intervalIndex = intervalIndex;
+        this.seatIndex = seatIndex;
     }
 
     @Override
@@ -38,14 +63,20 @@ public class ShowtimeServiceImpl implements ShowtimeService {
 
         showtime.setEndTime(showtime.getStartTime().plusMinutes(showtime.getMovie().getDuration()));
 
-        boolean overlaps = showtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(
-            showtime.getTheater(), showtime.getEndTime(), showtime.getStartTime());
+        return intervalIndex.withTheaterLock(showtime.getTheater(), () -> {
+            boolean overlaps = intervalIndex
+                .findOverlap(showtime.getTheater(), showtime.getStartTime(), showtime.getEndTime(), null).isPresent()
+                || showtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(
+                    showtime.getTheater(), showtime.getEndTime(), showtime.getStartTime());
 
-        if (overlaps) {
-            throw new ShowtimeConflictException("Overlapping showtime at this theater");
-        }
+            if (overlaps) {
+                throw new ShowtimeConflictException("Overlapping showtime at this theater");
+            }
 
-        return showtimeRepository.save(showtime);
+            Showtime saved = showtimeRepository.save(showtime);
+            intervalIndex.put(saved);
+            return saved;
+        });
     }
 
     @Override
@@ -54,6 +85,12 @@ public class ShowtimeServiceImpl implements ShowtimeService {
                 .orElseThrow(() -> new EntityNotFoundException("Showtime with id " + id + " not found"));
     }
 
+    @Override
+    public SeatMapResponse getSeatMap(Long id) {
+        // served straight from the occupancy bitmap, which bookings and holds keep current
+        return SeatMapResponse.fromBitmap(id, seatIndex.seats(id).toByteArray());
+    }
+
     @Override
     public Showtime updateShowtime(Long id, Showtime updated) {
         Showtime existing = getShowtime(id);
@@ -62,24 +99,28 @@ public class ShowtimeServiceImpl implements ShowtimeService {
             throw new IllegalArgumentException("Movie must be provided for the showtime");
         }
 
-        boolean overlaps = showtimeRepository
-            .existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqualAndIdNot(
-                updated.getTheater(), 
-                updated.getStartTime().plusMinutes(updated.getMovie().getDuration()),
-                updated.getStartTime(),
-                id);
+        LocalDateTime startTime = updated.getStartTime();
+        LocalDateTime endTime = startTime.plusMinutes(updated.getMovie().getDuration());
 
-        if (overlaps) {
-            throw new ShowtimeConflictException("Overlapping showtime at this theater");
-        }
+        return intervalIndex.withTheaterLock(updated.getTheater(), () -> {
+            boolean overlaps = intervalIndex.findOverlap(updated.getTheater(), startTime, endTime, id).isPresent()
+                || showtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqualAndIdNot(
+                    updated.getTheater(), endTime, startTime, id);
+
+            if (overlaps) {
+                throw new ShowtimeConflictException("Overlapping showtime at this theater");
+            }
 
-        existing.setMovie(updated.getMovie());
-        existing.setTheater(updated.getTheater());
-        existing.setStartTime(updated.getStartTime());
-        existing.setEndTime(updated.getStartTime().plusMinutes(updated.getMovie().getDuration()));
-        existing.setPrice(updated.getPrice());
+            existing.setMovie(updated.getMovie());
+            existing.setTheater(updated.getTheater());
+            existing.setStartTime(startTime);
+            existing.setEndTime(endTime);
+            existing.setPrice(updated.getPrice());
 
-        return showtimeRepository.save(existing);
+            Showtime saved = showtimeRepository.save(existing);
+            intervalIndex.put(saved);
+            return saved;
+        });
     }
 
     @Override
@@ -93,10 +134,102 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         }
     
         showtimeRepository.delete(showtime);
+        intervalIndex.remove(id);
+        seatIndex.invalidate(id);
     }
     
     @Override
-    public List<Showtime> getAllShowtimes() {
-        return showtimeRepository.findAll();
+    public CursorPage<Showtime> getAllShowtimes(Long after, int limit) {
+        List<Showtime> rows = showtimeRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.afterOrStart(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return CursorPage.of(rows, limit, Showtime::getId);
+    }
+
+    @Override
+    @Transactional
+    public ShowtimeScheduleResponse scheduleShowtimes(List<Showtime> showtimes) {
+        Map<String, List<Slot>> slotsByTheater = new LinkedHashMap<>();
+        for (int i = 0; i < showtimes.size(); i++) {
+            Showtime showtime = showtimes.get(i);
+            if (showtime.getMovie() == null || showtime.getMovie().getDuration() == 0) {
+                throw new IllegalArgumentException("Movie and its duration must be provided");
+            }
+            if (showtime.getStartTime() == null || showtime.getTheater() == null) {
+                throw new IllegalArgumentException("StartTime and Theater are required");
+            }
+            showtime.setEndTime(showtime.getStartTime().plusMinutes(showtime.getMovie().getDuration()));
+            slotsByTheater.computeIfAbsent(showtime.getTheater(), theater -> new ArrayList<>())
+                    .add(new Slot(i, null, showtime.getStartTime(), showtime.getEndTime()));
+        }
+
+        return intervalIndex.withTheaterLocksUntilCompletion(slotsByTheater.keySet(), () -> {
+            Map<Integer, ShowtimeConflict> conflicts = new TreeMap<>();
+            slotsByTheater.forEach((theater, slots) -> findConflicts(theater, slots, conflicts));
+
+            if (!conflicts.isEmpty()) {
+                return new ShowtimeScheduleResponse(List.of(), new ArrayList<>(conflicts.values()));
+            }
+
+            List<Showtime> saved = showtimeRepository.saveAll(showtimes);
+            saved.forEach(intervalIndex::put);
+
+            List<ShowtimeResponse> created = saved.stream()
+                    .map(ShowtimeResponse::fromEntity)
+                    .collect(Collectors.toList());
+            return new ShowtimeScheduleResponse(created, List.of());
+        });
+    }
+
+    /**
+     * Sweep-line pass over the new slots of one theater together with the existing showtimes
+     * inside their time window, taken from the interval index and from the database, which also
+     * holds showtimes written by other instances. Every new slot that overlaps any other slot is
+     * recorded, keyed by its position in the request.
+     */
+    private void findConflicts(String theater, List<Slot> newSlots, Map<Integer, ShowtimeConflict> conflicts) {
+        LocalDateTime windowStart = newSlots.stream().map(Slot::start).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime windowEnd = newSlots.stream().map(Slot::end).max(Comparator.naturalOrder()).orElseThrow();
+
+        Map<Long, ShowtimeInterval> existing = new LinkedHashMap<>();
+        intervalIndex.findOverlapping(theater, windowStart, windowEnd)
+            .forEach(interval -> existing.put(interval.id(), interval));
+        showtimeRepository.findIntervalsOverlapping(theater, windowStart, windowEnd)
+            .forEach(interval -> existing.putIfAbsent(interval.id(), interval));
+
+        List<Slot> slots = new ArrayList<>(newSlots);
+        existing.values()
+            .forEach(interval -> slots.add(new Slot(-1, interval.id(), interval.startTime(), interval.endTime())));
+        slots.sort(Comparator.comparing(Slot::start).thenComparing(Slot::end));
+
+        // The slot reaching furthest so far: any later slot starting before it ends overlaps it.
+        Slot active = null;
+        for (Slot slot : slots) {
+            if (active != null && !slot.start().isAfter(active.end())) {
+                recordConflict(theater, slot, active, conflicts);
+                recordConflict(theater, active, slot, conflicts);
+            }
+            if (active == null || slot.end().isAfter(active.end())) {
+                active = slot;
+            }
+        }
+    }
+
+    private static void recordConflict(String theater, Slot slot, Slot other, Map<Integer, ShowtimeConflict> conflicts) {
+        if (!slot.isNew()) {
+            return;
+        }
+        conflicts.putIfAbsent(slot.index(), new ShowtimeConflict(
+            slot.index(), theater, slot.start(), slot.end(),
+            other.showtimeId(), other.isNew() ? other.index() : null));
+    }
+
+    /**
+     * A time interval in a theater: either an entry of the request ({@code index >= 0})
+     * or an existing showtime.
+     */
+    private record Slot(int index, Long showtimeId, LocalDateTime start, LocalDateTime end) {
+        boolean isNew() {
+            return index >= 0;
+        }
     }
 }
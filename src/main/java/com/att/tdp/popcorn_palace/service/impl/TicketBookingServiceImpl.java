@@ -1,80 +1,270 @@
 package com.att.tdp.popcorn_palace.service.impl;
 
+import com.att.tdp.popcorn_palace.booking.BookingPipeline;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.TicketBookingBatchRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
 import com.att.tdp.popcorn_palace.model.Customer;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.model.TicketBooking;
 import com.att.tdp.popcorn_palace.repository.CustomerRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketBookingBatchWriter;
+import com.att.tdp.popcorn_palace.repository.TicketBookingExportReader;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
+import com.att.tdp.popcorn_palace.seat.SeatChange;
+import com.att.tdp.popcorn_palace.seat.SeatChangeBus;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.seat.ShowtimeLockManager;
 import com.att.tdp.popcorn_palace.service.TicketBookingService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("popcorn.service")
 public class TicketBookingServiceImpl implements TicketBookingService {
 
     private final TicketBookingRepository bookingRepository;
     private final ShowtimeRepository showtimeRepository;
     private final CustomerRepository customerRepository;
+    private final TicketBookingBatchWriter batchWriter;
+    private final TicketBookingExportReader exportReader;
+    private final SeatOccupancyIndex seatIndex;
+    private final SeatChangeBus seatChanges;
+    private final ShowtimeLockManager showtimeLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<BookingPipeline> pipeline;
 
     public TicketBookingServiceImpl(
         TicketBookingRepository bookingRepository,
         ShowtimeRepository showtimeRepository,
-        CustomerRepository customerRepository) {
+        CustomerRepository customerRepository,
+        TicketBookingBatchWriter batchWriter,
+        TicketBookingExportReader exportReader,
+        SeatOccupancyIndex seatIndex,
+        SeatChangeBus seatChanges,
+        ShowtimeLockManager showtimeLocks,
+        PlatformTransactionManager transactionManager,
+        Optional<BookingPipeline> pipeline) {
         this.bookingRepository = bookingRepository;
         this.showtimeRepository = showtimeRepository;
         this.customerRepository = customerRepository;
+        this.batchWriter = batchWriter;
+        this.exportReader = exportReader;
+        this.seatIndex = seatIndex;
+        this.seatChanges = seatChanges;
+        this.showtimeLocks = showtimeLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pipeline = pipeline;
     }
 
+    /**
+     * Each seat write takes the showtime's lock first and then runs in its own transaction, so
+     * writers queued on a busy showtime hold no connection while they wait.
+     */
     @Override
-    @Transactional
     public TicketBookingResponse bookTicket(TicketBookingRequest request) {
+        return showtimeLocks.withLock(request.getShowtimeId(),
+                () -> transactionTemplate.execute(status -> book(request)));
+    }
+
+    private TicketBookingResponse book(TicketBookingRequest request) {
+        // Rejects taken seats from memory; the claim is rolled back with the transaction.
+        seatIndex.claim(request.getShowtimeId(), request.getSeatNumber());
+
         Showtime showtime = showtimeRepository.findById(request.getShowtimeId())
                 .orElseThrow(() -> new EntityNotFoundException("Showtime not found"));
 
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
 
-        boolean isBooked = bookingRepository.existsByShowtimeAndSeatNumber(showtime, request.getSeatNumber());
-        if (isBooked) {
-            throw new SeatAlreadyBookedException("Seat already booked for this showtime");
-        }
-
         TicketBooking booking = request.toEntity(showtime, customer);
         booking.setBookedAt(LocalDateTime.now());
 
-        TicketBooking savedBooking = bookingRepository.save(booking);
+        TicketBooking savedBooking = insert(booking);
+        seatChanges.publishAfterCommit(showtime.getId(), List.of(booking.getSeatNumber()), SeatChange.Type.BOOKED);
         return TicketBookingResponse.fromEntity(savedBooking);
     }
 
+    /**
+     * Same checks as {@link #bookTicket}, but the insert is handed to the {@link BookingPipeline}
+     * to be group-committed with other bookings. The seat stays claimed while the booking is
+     * queued and is released if the insert fails.
+     */
     @Override
-    public List<TicketBookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream()
+    public CompletableFuture<TicketBookingResponse> submitBooking(TicketBookingRequest request) {
+        BookingPipeline bookingPipeline = pipeline
+                .orElseThrow(() -> new IllegalStateException("Booking pipeline is not enabled"));
+        Long showtimeId = request.getShowtimeId();
+        List<Integer> seat = List.of(request.getSeatNumber());
+
+        // No transaction here, so the claim holds until the pipeline reports the outcome.
+        seatIndex.claimAll(showtimeId, seat);
+        TicketBooking booking;
+        try {
+            Showtime showtime = showtimeRepository.findById(showtimeId)
+                    .orElseThrow(() -> new EntityNotFoundException("Showtime not found"));
+            Customer customer = customerRepository.findById(request.getCustomerId())
+                    .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+            booking = request.toEntity(showtime, customer);
+            booking.setBookedAt(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            seatIndex.releaseAll(showtimeId, seat);
+            throw ex;
+        }
+
+        return bookingPipeline.submit(booking).handle((saved, error) -> {
+            if (error != null) {
+                seatIndex.releaseAll(showtimeId, seat);
+                if (error instanceof DataIntegrityViolationException ex && isSeatConflict(ex)) {
+                    seatIndex.invalidate(showtimeId);
+                    throw new CompletionException(new SeatAlreadyBookedException("Seat already booked for this showtime"));
+                }
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            seatChanges.publish(showtimeId, seat, SeatChange.Type.BOOKED);
+            return TicketBookingResponse.fromEntity(saved);
+        });
+    }
+
+    @Override
+    public List<TicketBookingResponse> bookTickets(TicketBookingBatchRequest request) {
+        List<Integer> seatNumbers = request.getSeatNumbers();
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new InvalidRequestException("Seat numbers must not repeat");
+        }
+
+        return showtimeLocks.withLock(request.getShowtimeId(), () -> transactionTemplate.execute(status -> {
+            seatIndex.claimAll(request.getShowtimeId(), seatNumbers);
+            return insertAll(request.getShowtimeId(), request.getCustomerId(), seatNumbers);
+        }));
+    }
+
+    /**
+     * Writes bookings for seats that a seat hold already claimed in the seat index, so no
+     * claim is made here. The caller owns the seats if this fails.
+     */
+    @Override
+    public List<TicketBookingResponse> bookHeldSeats(Long showtimeId, Long customerId, List<Integer> seatNumbers) {
+        return showtimeLocks.withLock(showtimeId,
+                () -> transactionTemplate.execute(status -> insertAll(showtimeId, customerId, seatNumbers)));
+    }
+
+    private List<TicketBookingResponse> insertAll(Long showtimeId, Long customerId, List<Integer> seatNumbers) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new EntityNotFoundException("Showtime not found"));
+
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+
+        LocalDateTime bookedAt = LocalDateTime.now();
+        List<TicketBooking> bookings = new ArrayList<>(seatNumbers.size());
+        for (Integer seatNumber : seatNumbers) {
+            TicketBooking booking = new TicketBooking();
+            booking.setShowtime(showtime);
+            booking.setCustomer(customer);
+            booking.setSeatNumber(seatNumber);
+            booking.setBookedAt(bookedAt);
+            bookings.add(booking);
+        }
+
+        try {
+            batchWriter.insertAll(bookings);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isSeatConflict(ex)) {
+                throw ex;
+            }
+            seatIndex.invalidate(showtime.getId());
+            throw new SeatAlreadyBookedException("One or more seats are already booked for this showtime");
+        }
+        seatChanges.publishAfterCommit(showtimeId, seatNumbers, SeatChange.Type.BOOKED);
+
+        return bookings.stream()
                 .map(TicketBookingResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<TicketBookingResponse> getAllBookings(Long after, int limit) {
+        List<TicketBookingResponse> rows = bookingRepository.findResponsesAfter(
+                CursorPage.afterOrStart(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return CursorPage.of(rows, limit, TicketBookingResponse::getBookingId);
+    }
+
+    @Override
+    public void exportBookings(Consumer<TicketBookingResponse> sink) {
+        exportReader.forEach(sink);
+    }
+
     @Override
     public TicketBookingResponse getBooking(Long id) {
-        TicketBooking booking = bookingRepository.findById(id)
+        return bookingRepository.findResponseById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Booking with id " + id + " not found"));
-        return TicketBookingResponse.fromEntity(booking);
     }
 
     @Override
-    @Transactional
     public void cancelBooking(Long id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new EntityNotFoundException("Booking with id " + id + " not found");
+        // the lock is picked by showtime, so the booking is read once before the transaction starts
+        Long showtimeId = findBooking(id).getShowtime().getId();
+        showtimeLocks.withLock(showtimeId, () -> transactionTemplate.execute(status -> {
+            TicketBooking booking = findBooking(id);
+            bookingRepository.delete(booking);
+            seatIndex.releaseAfterCommit(showtimeId, booking.getSeatNumber());
+            seatChanges.publishAfterCommit(showtimeId, List.of(booking.getSeatNumber()), SeatChange.Type.CANCELLED);
+            return null;
+        }));
+    }
+
+    private TicketBooking findBooking(Long id) {
+        return bookingRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Booking with id " + id + " not found"));
+    }
+
+    /**
+     * Inserts the booking and lets the unique key on (showtime_id, seat_number) decide
+     * whether the seat is still free, instead of checking with a separate query first.
+     */
+    private TicketBooking insert(TicketBooking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isSeatConflict(ex)) {
+                throw ex;
+            }
+            // Another node booked the seat; the cached bitmap is stale for this showtime.
+            seatIndex.invalidate(booking.getShowtime().getId());
+            throw new SeatAlreadyBookedException("Seat already booked for this showtime");
+        }
+    }
+
+    private static boolean isSeatConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String text = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (text != null && text.toLowerCase().contains(TicketBooking.SEAT_CONSTRAINT)) {
+                return true;
+            }
         }
-        bookingRepository.deleteById(id);
+        return false;
     }
 }
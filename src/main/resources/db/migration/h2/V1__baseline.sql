@@ -0,0 +1,46 @@
+-- Schema as Hibernate mapped it before migrations were introduced. Anything a database baselined at
+-- this version may lack belongs in a later migration (V5).
+
+CREATE SEQUENCE movie_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE showtime_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE ticket_booking_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE movie (
+    id BIGINT NOT NULL,
+    title VARCHAR(255),
+    genre VARCHAR(255),
+    duration INTEGER NOT NULL,
+    rating FLOAT(53) NOT NULL,
+    release_year INTEGER NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE customer (
+    id BIGINT NOT NULL,
+    full_name VARCHAR(255),
+    email VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE showtime (
+    id BIGINT NOT NULL,
+    movie_id BIGINT NOT NULL,
+    theater VARCHAR(255),
+    start_time TIMESTAMP(6),
+    end_time TIMESTAMP(6),
+    price NUMERIC(38,2),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_showtime_movie FOREIGN KEY (movie_id) REFERENCES movie (id)
+);
+
+CREATE TABLE ticket_booking (
+    id BIGINT NOT NULL,
+    showtime_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    seat_number INTEGER NOT NULL CHECK (seat_number BETWEEN 1 AND 100),
+    booked_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_booking_showtime FOREIGN KEY (showtime_id) REFERENCES showtime (id),
+    CONSTRAINT fk_ticket_booking_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
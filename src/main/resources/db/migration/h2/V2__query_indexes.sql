@@ -0,0 +1,13 @@
+-- Indexes behind the repository queries. The other queries are served by keys that already exist:
+--   ShowtimeRepository.findByMovie                  foreign key index on showtime (movie_id)
+--   existsByShowtime, findSeatNumbersByShowtimeId   uk_ticket_booking_showtime_seat (H2 also indexes the showtime_id foreign key on its own)
+--   existsByCustomer, findResponsesByCustomerId     foreign key index on ticket_booking (customer_id)
+--   paging by id                                    primary keys
+--   deleteCreatedBefore                             idx_idempotency_key_created_at
+
+-- MovieRepository.findByTitleAndGenreAndReleaseYear (duplicate check on create)
+CREATE INDEX idx_movie_title_genre_year ON movie (title, genre, release_year);
+
+-- ShowtimeRepository overlap checks and findIntervalsByTheater: theater first, then the time range;
+-- the index also holds id, start_time and end_time, so the interval reads never touch the rows
+CREATE INDEX idx_showtime_theater_start_end ON showtime (theater, start_time, end_time);
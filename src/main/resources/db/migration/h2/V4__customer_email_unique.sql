@@ -0,0 +1,4 @@
+-- one customer per email: CustomerEmailUpsert resolves create-or-get on this key, and
+-- CustomerRepository.findByEmail / findByEmailIn read through it
+DROP INDEX idx_customer_email;
+ALTER TABLE customer ADD CONSTRAINT uk_customer_email UNIQUE (email);
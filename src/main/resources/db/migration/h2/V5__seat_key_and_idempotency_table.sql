@@ -0,0 +1,23 @@
+-- Objects a new database used to get from V1 but a database baselined at V1 (created by the old
+-- ddl-auto: update) never had; from here both end up with the same schema.
+
+-- one booking per showtime and seat: TicketBookingServiceImpl inserts optimistically and relies on this
+-- key to reject a double booking, and existsByShowtime / findSeatNumbersByShowtimeId read through it.
+-- Databases without the key may hold double bookings; keep the earliest booking of each seat.
+DELETE FROM ticket_booking b
+WHERE EXISTS (SELECT * FROM ticket_booking o
+              WHERE o.showtime_id = b.showtime_id AND o.seat_number = b.seat_number AND o.id < b.id);
+
+ALTER TABLE ticket_booking ADD CONSTRAINT uk_ticket_booking_showtime_seat UNIQUE (showtime_id, seat_number);
+
+-- stored responses of POST /bookings with an Idempotency-Key; the table may already exist where
+-- ddl-auto: update created it
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,55 @@
+-- Schema as Hibernate mapped it before migrations were introduced. Databases that already hold these
+-- tables are baselined at this version (spring.flyway.baseline-on-migrate) and start from V2, so
+-- anything they may lack belongs in a later migration (V2_1, V5).
+
+-- MySQL has no sequences; Hibernate keeps the next value of each pooled id generator in a one-row table
+CREATE TABLE movie_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO movie_seq VALUES (1);
+
+CREATE TABLE customer_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO customer_seq VALUES (1);
+
+CREATE TABLE showtime_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO showtime_seq VALUES (1);
+
+CREATE TABLE ticket_booking_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO ticket_booking_seq VALUES (1);
+
+CREATE TABLE movie (
+    id BIGINT NOT NULL,
+    title VARCHAR(255),
+    genre VARCHAR(255),
+    duration INT NOT NULL,
+    rating DOUBLE NOT NULL,
+    release_year INT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE customer (
+    id BIGINT NOT NULL,
+    full_name VARCHAR(255),
+    email VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE showtime (
+    id BIGINT NOT NULL,
+    movie_id BIGINT NOT NULL,
+    theater VARCHAR(255),
+    start_time DATETIME(6),
+    end_time DATETIME(6),
+    price DECIMAL(38,2),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_showtime_movie FOREIGN KEY (movie_id) REFERENCES movie (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE ticket_booking (
+    id BIGINT NOT NULL,
+    showtime_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    seat_number INT NOT NULL CHECK (seat_number BETWEEN 1 AND 100),
+    booked_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_booking_showtime FOREIGN KEY (showtime_id) REFERENCES showtime (id),
+    CONSTRAINT fk_ticket_booking_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+) ENGINE=InnoDB;
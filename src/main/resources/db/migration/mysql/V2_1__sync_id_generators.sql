@@ -0,0 +1,20 @@
+-- Databases baselined from the AUTO_INCREMENT era may lack the generator tables, or have them start
+-- below ids already in use. Move each generator past the highest existing id.
+-- Hibernate's pooled optimizer reads next_val as the top of its first block and hands out the 50 ids
+-- up to it (allocationSize 50), so next_val must be at least MAX(id) + 50, not MAX(id) + 1.
+
+CREATE TABLE IF NOT EXISTS movie_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO movie_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM movie_seq);
+UPDATE movie_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM movie));
+
+CREATE TABLE IF NOT EXISTS customer_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO customer_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM customer_seq);
+UPDATE customer_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM customer));
+
+CREATE TABLE IF NOT EXISTS showtime_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO showtime_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM showtime_seq);
+UPDATE showtime_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM showtime));
+
+CREATE TABLE IF NOT EXISTS ticket_booking_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO ticket_booking_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM ticket_booking_seq);
+UPDATE ticket_booking_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM ticket_booking));
@@ -0,0 +1,2 @@
+-- CustomerRepository.findByEmailIn, used by the startup loader to find the sample customers already present
+CREATE INDEX idx_customer_email ON customer (email);
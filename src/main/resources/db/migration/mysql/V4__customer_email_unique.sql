@@ -0,0 +1,20 @@
+-- one customer per email: CustomerEmailUpsert resolves create-or-get on this key, and
+-- CustomerRepository.findByEmail / findByEmailIn read through it
+
+-- databases created by ddl-auto: update never had the constraint and may hold several customers per
+-- email; keep the oldest one and move the bookings of the others to it before adding the key
+UPDATE ticket_booking b
+    JOIN customer c ON c.id = b.customer_id
+    JOIN (SELECT email, MIN(id) AS keep_id FROM customer WHERE email IS NOT NULL GROUP BY email) k
+        ON k.email = c.email
+SET b.customer_id = k.keep_id
+WHERE c.id <> k.keep_id;
+
+DELETE c FROM customer c
+    JOIN (SELECT email, MIN(id) AS keep_id FROM customer WHERE email IS NOT NULL GROUP BY email) k
+        ON k.email = c.email
+WHERE c.id <> k.keep_id;
+
+ALTER TABLE customer
+    DROP INDEX idx_customer_email,
+    ADD CONSTRAINT uk_customer_email UNIQUE (email);
@@ -0,0 +1,24 @@
+-- Objects a new database used to get from V1 but a database baselined at V1 (created by the old
+-- ddl-auto: update) never had; from here both end up with the same schema.
+
+-- one booking per showtime and seat: TicketBookingServiceImpl inserts optimistically and relies on this
+-- key to reject a double booking, and existsByShowtime / findSeatNumbersByShowtimeId read through it.
+-- Databases without the key may hold double bookings; keep the earliest booking of each seat.
+DELETE b FROM ticket_booking b
+    JOIN (SELECT showtime_id, seat_number, MIN(id) AS keep_id FROM ticket_booking
+          GROUP BY showtime_id, seat_number HAVING COUNT(*) > 1) k
+        ON k.showtime_id = b.showtime_id AND k.seat_number = b.seat_number
+WHERE b.id <> k.keep_id;
+
+ALTER TABLE ticket_booking ADD CONSTRAINT uk_ticket_booking_showtime_seat UNIQUE (showtime_id, seat_number);
+
+-- stored responses of POST /bookings with an Idempotency-Key; the table may already exist where
+-- ddl-auto: update created it
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_key_created_at (created_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,42 @@
+package com.att.tdp.popcorn_palace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - exports service, repository and error meters")
+    void prometheus_shouldExportApplicationMeters() throws Exception {
+        mockMvc.perform(get("/showtimes/424242")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "popcorn_service_seconds_count{application=\"popcorn-palace\",class=\"com.att.tdp.popcorn_palace.service.impl.ShowtimeServiceImpl\",exception=\"EntityNotFoundException\",method=\"getShowtime\"")))
+                .andExpect(content().string(containsString(
+                        "spring_data_repository_invocations_seconds_count{application=\"popcorn-palace\",exception=\"None\",method=\"findById\",repository=\"ShowtimeRepository\"")))
+                .andExpect(content().string(containsString(
+                        "popcorn_errors_total{application=\"popcorn-palace\",exception=\"EntityNotFoundException\",status=\"404\"}")))
+                .andExpect(content().string(containsString("cache_gets_total{application=\"popcorn-palace\",cache=\"movies\"")))
+                .andExpect(content().string(containsString("popcorn_showtime_locks_acquisitions_total{application=\"popcorn-palace\",stripe=\"0\"}")));
+    }
+}
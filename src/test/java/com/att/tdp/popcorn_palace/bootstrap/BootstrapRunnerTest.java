@@ -0,0 +1,127 @@
+package com.att.tdp.popcorn_palace.bootstrap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BootstrapRunnerTest {
+
+    private static final List<String> loaded = new CopyOnWriteArrayList<>();
+    private static CountDownLatch bothStarted;
+
+    @Test
+    @DisplayName("run - independent loaders share a stage and run concurrently, dependents wait for them")
+    void run_shouldRunIndependentLoadersConcurrently() {
+        loaded.clear();
+        bothStarted = new CountDownLatch(2);
+        BootstrapRunner runner = new BootstrapRunner(List.of(new Tickets(), new Movies(), new Customers()));
+
+        List<BootstrapRunner.StageTiming> timings = runner.run();
+
+        assertEquals(2, timings.size());
+        assertEquals(Set.of("Movies", "Customers"), timings.get(0).loaders().keySet());
+        assertEquals(Set.of("Tickets"), timings.get(1).loaders().keySet());
+        assertEquals("Tickets", loaded.get(2));
+    }
+
+    @Test
+    @DisplayName("stages - loaders that depend on each other are rejected")
+    void stages_shouldRejectCycles() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> BootstrapRunner.stages(List.of(new CycleA(), new CycleB())));
+
+        assertTrue(ex.getMessage().contains("cycle"));
+    }
+
+    @Test
+    @DisplayName("stages - a dependency that is not a registered loader is rejected")
+    void stages_shouldRejectMissingDependency() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> BootstrapRunner.stages(List.of(new Tickets(), new Movies())));
+
+        assertTrue(ex.getMessage().contains("Customers"));
+    }
+
+    @Test
+    @DisplayName("run - a failing loader fails the bootstrap with its own exception")
+    void run_shouldPropagateLoaderFailure() {
+        BootstrapRunner runner = new BootstrapRunner(List.of(new Failing()));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, runner::run);
+        assertEquals("broken sample", ex.getMessage());
+    }
+
+    private static void loadAfterBothStarted(String name) {
+        bothStarted.countDown();
+        try {
+            // only returns if the other loader of the stage is running at the same time
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+        loaded.add(name);
+    }
+
+    static class Movies implements DataLoader {
+        @Override
+        public void load() {
+            loadAfterBothStarted("Movies");
+        }
+    }
+
+    static class Customers implements DataLoader {
+        @Override
+        public void load() {
+            loadAfterBothStarted("Customers");
+        }
+    }
+
+    static class Tickets implements DataLoader {
+        @Override
+        public Set<Class<? extends DataLoader>> dependsOn() {
+            return Set.of(Movies.class, Customers.class);
+        }
+
+        @Override
+        public void load() {
+            loaded.add("Tickets");
+        }
+    }
+
+    static class CycleA implements DataLoader {
+        @Override
+        public Set<Class<? extends DataLoader>> dependsOn() {
+            return Set.of(CycleB.class);
+        }
+
+        @Override
+        public void load() {
+        }
+    }
+
+    static class CycleB implements DataLoader {
+        @Override
+        public Set<Class<? extends DataLoader>> dependsOn() {
+            return Set.of(CycleA.class);
+        }
+
+        @Override
+        public void load() {
+        }
+    }
+
+    static class Failing implements DataLoader {
+        @Override
+        public void load() {
+            throw new IllegalArgumentException("broken sample");
+        }
+    }
+}
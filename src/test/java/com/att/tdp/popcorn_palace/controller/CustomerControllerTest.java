@@ -1,5 +1,7 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.BookingPeriod;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.CustomerRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
 import com.att.tdp.popcorn_palace.model.Customer;
@@ -81,7 +83,7 @@ class CustomerControllerTest {
     @Test
     @DisplayName("GET /customers - should return all customers")
     void getAllCustomers_shouldReturnList() throws Exception {
-        when(customerService.getAllCustomers()).thenReturn(List.of(customer));
+        when(customerService.getAllCustomers(null, 100)).thenReturn(new CursorPage<>(List.of(customer), null));
 
         mockMvc.perform(get("/customers"))
                 .andExpect(status().isOk())
@@ -103,6 +105,29 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.email", is("alice@example.com")));
     }
 
+    @Test
+    @DisplayName("GET /customers?email= - should return the customer with that email")
+    void getCustomerByEmail_shouldReturnCustomer() throws Exception {
+        when(customerService.getCustomerByEmail("alice@example.com")).thenReturn(customer);
+
+        mockMvc.perform(get("/customers").param("email", "alice@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.email", is("alice@example.com")));
+
+        verify(customerService, never()).getAllCustomers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /customers?email= - unknown email should return 404")
+    void getCustomerByEmail_notFound_shouldReturn404() throws Exception {
+        when(customerService.getCustomerByEmail("nobody@example.com"))
+                .thenThrow(new EntityNotFoundException("Customer with email nobody@example.com not found"));
+
+        mockMvc.perform(get("/customers").param("email", "nobody@example.com"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /customers/{id} - non-existent ID should return 404")
     void getCustomerById_notFound_shouldReturn404() throws Exception {
@@ -165,7 +190,8 @@ class CustomerControllerTest {
         booking.setEndTime(LocalDateTime.now().plusHours(2));
         booking.setMovieTitle("Dune Part Two");
 
-        when(customerService.getBookingsByCustomerId(1L)).thenReturn(List.of(booking));
+        when(customerService.getBookingsByCustomerId(1L, null, null, 100))
+                .thenReturn(new CursorPage<>(List.of(booking), null));
 
         mockMvc.perform(get("/customers/1/bookings"))
                 .andExpect(status().isOk())
@@ -176,4 +202,27 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$[0].price", is(42.00)))
                 .andExpect(jsonPath("$[0].movieTitle", is("Dune Part Two")));
     }
+
+    @Test
+    @DisplayName("GET /customers/{id}/bookings?period=upcoming - pages through upcoming bookings")
+    void getBookingsForCustomer_upcoming_shouldReturnNextLink() throws Exception {
+        TicketBookingResponse booking = new TicketBookingResponse(10L, 2L, 5, 1L, "John Doe", null);
+        when(customerService.getBookingsByCustomerId(1L, BookingPeriod.UPCOMING, 4L, 1))
+                .thenReturn(new CursorPage<>(List.of(booking), 10L));
+
+        mockMvc.perform(get("/customers/1/bookings?period=Upcoming&after=4&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("Link",
+                        "<http://localhost/customers/1/bookings?period=Upcoming&limit=1&after=10>; rel=\"next\""));
+    }
+
+    @Test
+    @DisplayName("GET /customers/{id}/bookings?period=soon - unknown period should return 400")
+    void getBookingsForCustomer_unknownPeriod_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/1/bookings?period=soon"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(customerService);
+    }
 }
@@ -1,8 +1,10 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.MovieCreateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieResponse;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.context.ActiveProfiles;
@@ -19,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -82,13 +86,67 @@ class MovieControllerTest {
     @Test
     @DisplayName("GET /movies - success")
     void getAllMovies_ShouldReturnMovieList() throws Exception {
-        when(movieService.getAllMovies()).thenReturn(Collections.singletonList(movieResponse));
+        when(movieService.getAllMovies(null, 100))
+                .thenReturn(new CursorPage<>(Collections.singletonList(movieResponse), null));
 
         mockMvc.perform(get("/movies"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
                 .andExpect(jsonPath("$[0].title", is("Inception")));
     }
 
+    @Test
+    @DisplayName("GET /movies - more pages should advertise the next link")
+    void getAllMovies_MorePages_ShouldReturnNextLink() throws Exception {
+        when(movieService.getAllMovies(10L, 1))
+                .thenReturn(new CursorPage<>(Collections.singletonList(movieResponse), 11L));
+
+        mockMvc.perform(get("/movies?after=10&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "<http://localhost/movies?limit=1&after=11>; rel=\"next\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("GET /movies - invalid limit should return 400")
+    void getAllMovies_InvalidLimit_ShouldReturnBadRequest() throws Exception {
+        when(movieService.getAllMovies(null, 0))
+                .thenThrow(new InvalidRequestException("limit must be between 1 and 1000"));
+
+        mockMvc.perform(get("/movies").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /movies/search - passes the filters to the search")
+    void searchMovies_ShouldReturnMatches() throws Exception {
+        when(movieService.searchMovies("incep", "Sci Fi", 2000, 8.0, null, 100))
+                .thenReturn(new CursorPage<>(Collections.singletonList(movieResponse), null));
+
+        mockMvc.perform(get("/movies/search")
+                        .param("q", "incep")
+                        .param("genre", "Sci Fi")
+                        .param("yearFrom", "2000")
+                        .param("minRating", "8.0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Inception")));
+    }
+
+    @Test
+    @DisplayName("GET /movies/search - more matches should advertise the next link")
+    void searchMovies_MorePages_ShouldReturnNextLink() throws Exception {
+        when(movieService.searchMovies("the", null, null, null, null, 1))
+                .thenReturn(new CursorPage<>(Collections.singletonList(movieResponse), 1L));
+
+        mockMvc.perform(get("/movies/search?q=the&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "<http://localhost/movies/search?q=the&limit=1&after=1>; rel=\"next\""));
+    }
+
     @Test
     @DisplayName("PUT /movies/{id} - update movie")
     void updateMovie_ShouldReturnUpdatedMovie() throws Exception {
@@ -0,0 +1,152 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.SeatHoldRequest;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponse;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.exception.GlobalExceptionHandler;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = SeatHoldController.class)
+@SpringJUnitConfig(SeatHoldController.class)
+@ActiveProfiles("test")
+@Import(GlobalExceptionHandler.class)
+class SeatHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SeatHoldService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SeatHoldRequest holdRequest;
+    private SeatHoldResponse holdResponse;
+
+    @BeforeEach
+    void setUp() {
+        holdRequest = new SeatHoldRequest();
+        holdRequest.setCustomerId(1L);
+        holdRequest.setSeatNumbers(List.of(5, 6));
+
+        holdResponse = new SeatHoldResponse();
+        holdResponse.setHoldId("hold-1");
+        holdResponse.setShowtimeId(1L);
+        holdResponse.setCustomerId(1L);
+        holdResponse.setSeatNumbers(List.of(5, 6));
+        holdResponse.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/{id}/holds - success")
+    void placeHold_shouldReturnCreated() throws Exception {
+        when(service.placeHold(eq(1L), any(SeatHoldRequest.class))).thenReturn(holdResponse);
+
+        mockMvc.perform(post("/showtimes/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.holdId").value("hold-1"))
+            .andExpect(jsonPath("$.seatNumbers[1]").value(6));
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/{id}/holds - too many seats should return 400")
+    void placeHold_tooManySeats_shouldReturnBadRequest() throws Exception {
+        holdRequest.setSeatNumbers(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+
+        mockMvc.perform(post("/showtimes/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/{id}/holds - unknown customer should return 404")
+    void placeHold_unknownCustomer_shouldReturnNotFound() throws Exception {
+        when(service.placeHold(eq(1L), any(SeatHoldRequest.class)))
+                .thenThrow(new EntityNotFoundException("Customer not found"));
+
+        mockMvc.perform(post("/showtimes/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest)))
+            .andExpect(status().isNotFound())
+            .andExpect(content().string("Customer not found"));
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/{id}/holds - taken seat should return 409")
+    void placeHold_seatTaken_shouldReturnConflict() throws Exception {
+        when(service.placeHold(eq(1L), any(SeatHoldRequest.class)))
+                .thenThrow(new SeatAlreadyBookedException("Seats already booked for this showtime: [5]"));
+
+        mockMvc.perform(post("/showtimes/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest)))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/{id}/holds/{holdId}/confirm - success")
+    void confirmHold_shouldReturnBookings() throws Exception {
+        TicketBookingResponse booked = new TicketBookingResponse(10L, 1L, 5, 1L, "John Doe", LocalDateTime.now());
+        when(service.confirmHold(1L, "hold-1")).thenReturn(List.of(booked));
+
+        mockMvc.perform(post("/showtimes/1/holds/hold-1/confirm"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$[0].bookingId").value(10))
+            .andExpect(jsonPath("$[0].seatNumber").value(5));
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/{id}/holds/{holdId}/confirm - expired hold should return 404")
+    void confirmHold_expired_shouldReturnNotFound() throws Exception {
+        when(service.confirmHold(1L, "hold-1"))
+                .thenThrow(new EntityNotFoundException("Hold hold-1 not found or expired"));
+
+        mockMvc.perform(post("/showtimes/1/holds/hold-1/confirm"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("DELETE /showtimes/{id}/holds/{holdId} - success")
+    void releaseHold_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/showtimes/1/holds/hold-1"))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("DELETE /showtimes/{id}/holds/{holdId} - unknown hold should return 404")
+    void releaseHold_unknown_shouldReturnNotFound() throws Exception {
+        doThrow(new EntityNotFoundException("Hold hold-2 not found or expired"))
+                .when(service).releaseHold(1L, "hold-2");
+
+        mockMvc.perform(delete("/showtimes/1/holds/hold-2"))
+            .andExpect(status().isNotFound());
+    }
+}
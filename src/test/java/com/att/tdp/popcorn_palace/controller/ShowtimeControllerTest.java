@@ -1,28 +1,42 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.cache.MovieCatalogCache;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.SeatMapResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeConflict;
 import com.att.tdp.popcorn_palace.dto.ShowtimeRequest;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleRequest;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleResponse;
 import com.att.tdp.popcorn_palace.exception.ShowtimeConflictException;
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
-import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.seat.SeatChange;
+import com.att.tdp.popcorn_palace.seat.SeatChangeBus;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -32,6 +46,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringJUnitConfig
 @ActiveProfiles("test")
 @WebMvcTest(ShowtimeController.class)
+@Import(SeatChangeBus.class)
 class ShowtimeControllerTest {
 
     @Autowired
@@ -41,17 +56,21 @@ class ShowtimeControllerTest {
     private ShowtimeService service;
 
     @MockitoBean
-    private MovieRepository movieRepository;
+    private MovieCatalogCache movieCatalog;
+
+    @Autowired
+    private SeatChangeBus seatChanges;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    private Movie movie;
     private Showtime showtime;
     private ShowtimeRequest showtimeRequest;
 
     @BeforeEach
     void setup() {
-        Movie movie = new Movie();
+        movie = new Movie();
         movie.setId(1L);
 
         showtime = new Showtime();
@@ -68,7 +87,7 @@ class ShowtimeControllerTest {
         showtimeRequest.setStartTime(showtime.getStartTime());
         showtimeRequest.setPrice(showtime.getPrice());
 
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(movieCatalog.findById(1L)).thenReturn(Optional.of(movie));
     }
 
     @Test
@@ -129,6 +148,63 @@ class ShowtimeControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    @DisplayName("GET /showtimes/{id}/seats - returns the bitset with an ETag")
+    void getSeatMap_shouldReturnBitsetAndEtag() throws Exception {
+        byte[] bits = new byte[13];
+        bits[0] = 0b101;
+        when(service.getSeatMap(1L)).thenReturn(SeatMapResponse.fromBitmap(1L, bits));
+
+        mockMvc.perform(get("/showtimes/1/seats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"BQAAAAAAAAAAAAAAAA==\""))
+                .andExpect(jsonPath("$.available").value(98))
+                .andExpect(jsonPath("$.occupied").value("BQAAAAAAAAAAAAAAAA=="));
+    }
+
+    @Test
+    @DisplayName("GET /showtimes/{id}/seats - unchanged map returns 304")
+    void getSeatMap_matchingEtag_shouldReturnNotModified() throws Exception {
+        when(service.getSeatMap(1L)).thenReturn(SeatMapResponse.fromBitmap(1L, new byte[13]));
+
+        mockMvc.perform(get("/showtimes/1/seats").header("If-None-Match", "\"AAAAAAAAAAAAAAAAAA==\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /showtimes/{id}/seats/stream - sends a snapshot, then seat changes")
+    void streamSeatMap_shouldSendSnapshotThenChanges() throws Exception {
+        when(service.getSeatMap(1L)).thenReturn(SeatMapResponse.fromBitmap(1L, new byte[13]));
+
+        MvcResult result = mockMvc.perform(get("/showtimes/1/seats/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().contains("event:snapshot"));
+
+        seatChanges.publish(1L, List.of(7), SeatChange.Type.BOOKED);
+
+        String expected = "event:seats\ndata:[{\"showtimeId\":1,\"seatNumber\":7,\"type\":\"BOOKED\"}]\n\n";
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!result.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains(expected), body);
+    }
+
+    @Test
+    @DisplayName("GET /showtimes/{id}/seats/stream - unknown showtime returns 404")
+    void streamSeatMap_notFound_shouldReturn404() throws Exception {
+        when(service.getSeatMap(99L)).thenThrow(new EntityNotFoundException("Showtime not found"));
+
+        mockMvc.perform(get("/showtimes/99/seats/stream"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, seatChanges.subscriberCount(99L));
+    }
+
     @Test
     @DisplayName("PUT /showtimes/{id} - update success")
     void updateShowtime_shouldReturnUpdated() throws Exception {
@@ -153,7 +229,7 @@ class ShowtimeControllerTest {
     @Test
     @DisplayName("GET /showtimes - return list")
     void getAllShowtimes_shouldReturnList() throws Exception {
-        when(service.getAllShowtimes()).thenReturn(List.of(showtime));
+        when(service.getAllShowtimes(null, 100)).thenReturn(new CursorPage<>(List.of(showtime), null));
 
         mockMvc.perform(get("/showtimes"))
                 .andExpect(status().isOk())
@@ -216,7 +292,7 @@ class ShowtimeControllerTest {
     @Test
     @DisplayName("POST /showtimes - movieId not found should return 404")
     void createShowtime_movieNotFound_shouldReturnNotFound() throws Exception {
-        when(movieRepository.findById(99L)).thenReturn(Optional.empty());
+        when(movieCatalog.findById(99L)).thenReturn(Optional.empty());
         showtimeRequest.setMovieId(99L);
 
         mockMvc.perform(post("/showtimes")
@@ -224,4 +300,51 @@ class ShowtimeControllerTest {
                         .content(objectMapper.writeValueAsString(showtimeRequest)))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("POST /showtimes/bulk - success should return created")
+    void scheduleShowtimes_shouldReturnCreated() throws Exception {
+        when(movieCatalog.findAllById(any())).thenReturn(Map.of(1L, movie));
+        when(service.scheduleShowtimes(any()))
+                .thenReturn(new ShowtimeScheduleResponse(List.of(ShowtimeResponse.fromEntity(showtime)), List.of()));
+
+        mockMvc.perform(post("/showtimes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(scheduleRequest(showtimeRequest))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created[0].id").value(1L))
+                .andExpect(jsonPath("$.conflicts").isEmpty());
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/bulk - overlaps should return 409 with every conflict")
+    void scheduleShowtimes_overlap_shouldReturnConflicts() throws Exception {
+        ShowtimeConflict conflict = new ShowtimeConflict(0, "Hall 1", showtime.getStartTime(), showtime.getEndTime(), 7L, null);
+        when(movieCatalog.findAllById(any())).thenReturn(Map.of(1L, movie));
+        when(service.scheduleShowtimes(any())).thenReturn(new ShowtimeScheduleResponse(List.of(), List.of(conflict)));
+
+        mockMvc.perform(post("/showtimes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(scheduleRequest(showtimeRequest))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.conflicts[0].index").value(0))
+                .andExpect(jsonPath("$.conflicts[0].conflictingShowtimeId").value(7L));
+    }
+
+    @Test
+    @DisplayName("POST /showtimes/bulk - unknown movie should return 404")
+    void scheduleShowtimes_movieNotFound_shouldReturnNotFound() throws Exception {
+        when(movieCatalog.findAllById(any())).thenReturn(Map.of());
+
+        mockMvc.perform(post("/showtimes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(scheduleRequest(showtimeRequest))))
+                .andExpect(status().isNotFound());
+    }
+
+    private ShowtimeScheduleRequest scheduleRequest(ShowtimeRequest... showtimes) {
+        ShowtimeScheduleRequest request = new ShowtimeScheduleRequest();
+        request.setShowtimes(List.of(showtimes));
+        return request;
+    }
 }
@@ -1,11 +1,17 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.TicketBookingBatchRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
 import com.att.tdp.popcorn_palace.exception.GlobalExceptionHandler;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
 import com.att.tdp.popcorn_palace.service.TicketBookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,12 +24,20 @@ import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,9 +54,15 @@ class TicketBookingControllerTest {
     @MockitoBean
     private TicketBookingService service;
 
+    @MockitoBean
+    private IdempotencyService idempotency;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private TicketBookingRequest bookingRequest;
     private TicketBookingResponse bookingResponse;
 
@@ -75,10 +95,87 @@ class TicketBookingControllerTest {
                 .andExpect(jsonPath("$.showtimeId").value(1));
     }
 
+    @Test
+    @DisplayName("POST /bookings - retry with the same Idempotency-Key replays the first response")
+    void bookTicket_idempotencyKey_shouldReplay() throws Exception {
+        when(idempotency.execute(eq("retry-1"), any(), eq(TicketBookingResponse.class), any()))
+                .thenReturn(new IdempotencyService.Outcome<>(bookingResponse, true));
+
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.seatNumber").value(11));
+
+        verify(service, never()).bookTicket(any());
+    }
+
+    @Test
+    @DisplayName("POST /bookings - Idempotency-Key reused for another request should return 422")
+    void bookTicket_idempotencyKeyReused_shouldReturnUnprocessable() throws Exception {
+        when(idempotency.execute(eq("retry-1"), any(), eq(TicketBookingResponse.class), any()))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request"));
+
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch - success")
+    void bookTickets_ShouldReturnCreated() throws Exception {
+        TicketBookingBatchRequest batch = new TicketBookingBatchRequest();
+        batch.setShowtimeId(1L);
+        batch.setCustomerId(1L);
+        batch.setSeatNumbers(List.of(11, 12));
+        when(service.bookTickets(any(TicketBookingBatchRequest.class))).thenReturn(List.of(bookingResponse));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].seatNumber").value(11));
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch - seat out of range should return 400")
+    void bookTickets_seatOutOfRange_shouldReturnBadRequest() throws Exception {
+        TicketBookingBatchRequest batch = new TicketBookingBatchRequest();
+        batch.setShowtimeId(1L);
+        batch.setCustomerId(1L);
+        batch.setSeatNumbers(List.of(11, 101));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch - repeated seats should return 400")
+    void bookTickets_repeatedSeats_shouldReturnBadRequest() throws Exception {
+        TicketBookingBatchRequest batch = new TicketBookingBatchRequest();
+        batch.setShowtimeId(1L);
+        batch.setCustomerId(1L);
+        batch.setSeatNumbers(List.of(11, 11));
+        when(service.bookTickets(any(TicketBookingBatchRequest.class)))
+                .thenThrow(new InvalidRequestException("Seat numbers must not repeat"));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Seat numbers must not repeat"));
+    }
+
     @Test
     @DisplayName("GET /bookings - success")
     void getAllBookings_ShouldReturnList() throws Exception {
-        when(service.getAllBookings()).thenReturn(List.of(bookingResponse));
+        when(service.getAllBookings(null, 100)).thenReturn(new CursorPage<>(List.of(bookingResponse), null));
 
         mockMvc.perform(get("/bookings"))
                 .andExpect(status().isOk())
@@ -86,6 +183,44 @@ class TicketBookingControllerTest {
                 .andExpect(jsonPath("$[0].customerId").value(1));
     }
 
+    @Test
+    @DisplayName("GET /bookings/export - streams one JSON object per line")
+    void exportBookings_shouldStreamNdjson() throws Exception {
+        TicketBookingResponse second = new TicketBookingResponse(2L, 1L, 12, 1L, "John Doe", null);
+        doAnswer(invocation -> {
+            Consumer<TicketBookingResponse> sink = invocation.getArgument(0);
+            sink.accept(bookingResponse);
+            sink.accept(second);
+            return null;
+        }).when(service).exportBookings(any());
+
+        MvcResult result = mockMvc.perform(get("/bookings/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(11, objectMapper.readTree(lines[0]).get("seatNumber").asInt());
+        assertEquals(12, objectMapper.readTree(lines[1]).get("seatNumber").asInt());
+    }
+
+    @Test
+    @DisplayName("POST /bookings - exhausted connection pool should return 503")
+    void bookTicket_noConnection_shouldReturnServiceUnavailable() throws Exception {
+        when(service.bookTicket(any()))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available, request timed out"));
+
+        mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @DisplayName("POST /bookings - missing seatNumber should return 400")
     void bookTicket_missingSeatNumber_shouldReturnBadRequest() throws Exception {
@@ -123,11 +258,14 @@ class TicketBookingControllerTest {
     @DisplayName("POST /bookings - seat already booked should return 409")
     void bookTicket_seatAlreadyBooked_shouldReturnConflict() throws Exception {
         when(service.bookTicket(any())).thenThrow(new SeatAlreadyBookedException("Seat already booked"));
+        double before = seatConflicts();
 
         mockMvc.perform(post("/bookings")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(bookingRequest)))
             .andExpect(status().isConflict());
+
+        assertEquals(before + 1, seatConflicts());
     }
 
     @Test
@@ -197,4 +335,9 @@ class TicketBookingControllerTest {
                 .content("invalid data"))
             .andExpect(status().isUnsupportedMediaType());
     }
+
+    private double seatConflicts() {
+        return meterRegistry.counter("popcorn.errors",
+                "exception", "SeatAlreadyBookedException", "status", "409").count();
+    }
 }
@@ -0,0 +1,95 @@
+package com.att.tdp.popcorn_palace.datagen;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "popcorn-palace.datagen.enabled=true",
+        "popcorn-palace.datagen.scale=0.01",
+        "popcorn-palace.datagen.showtimes-per-theater=200"
+})
+@ActiveProfiles("test")
+class DataGeneratorTest {
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    @DisplayName("load - generates the scaled row counts on startup")
+    void load_shouldGenerateScaledCounts() {
+        assertEquals(10, count("SELECT COUNT(*) FROM movie WHERE title LIKE 'Synthetic Movie %'"));
+        assertEquals(500, count("SELECT COUNT(*) FROM customer WHERE email LIKE '%@datagen.local'"));
+        assertEquals(200, count("SELECT COUNT(*) FROM showtime WHERE theater LIKE 'Synthetic Hall %'"));
+        assertEquals(5000, count("""
+                SELECT COUNT(*) FROM ticket_booking b JOIN showtime s ON s.id = b.showtime_id
+                WHERE s.theater LIKE 'Synthetic Hall %'"""));
+    }
+
+    @Test
+    @DisplayName("load - showtimes of a theater never overlap")
+    void load_shouldNotOverlapShowtimes() {
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM showtime a JOIN showtime b
+                  ON a.theater = b.theater AND a.id < b.id AND a.start_time <= b.end_time AND a.end_time >= b.start_time
+                WHERE a.theater LIKE 'Synthetic Hall %'"""));
+    }
+
+    @Test
+    @DisplayName("load - bookings are skewed toward the most popular movie")
+    void load_shouldSkewBookingsTowardPopularMovies() {
+        List<Long> perMovie = jdbcTemplate.queryForList("""
+                SELECT COUNT(*) FROM ticket_booking b JOIN showtime s ON s.id = b.showtime_id
+                WHERE s.theater LIKE 'Synthetic Hall %' GROUP BY s.movie_id ORDER BY COUNT(*) DESC""", Long.class);
+
+        assertTrue(perMovie.get(0) > 2 * 5000 / 10, "busiest movie has " + perMovie.get(0) + " bookings");
+    }
+
+    @Test
+    @DisplayName("load - Hibernate never hands out an id inside the generated range, and nothing is generated twice")
+    void load_shouldReserveIdsAndRunOnce() {
+        long firstGenerated = count("SELECT MIN(id) FROM movie WHERE title LIKE 'Synthetic Movie %'");
+        long lastGenerated = count("SELECT MAX(id) FROM movie WHERE title LIKE 'Synthetic Movie %'");
+
+        // more than one allocation block, so the ids run past the block Hibernate held before the generator
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("After Datagen " + i);
+            movie.setGenre("Drama");
+            movie.setDuration(100);
+            movie.setRating(7.0);
+            movie.setReleaseYear(2024);
+            movies.add(movie);
+        }
+        List<Movie> saved = movieRepository.saveAll(movies);
+
+        assertTrue(saved.stream().allMatch(movie -> movie.getId() < firstGenerated || movie.getId() > lastGenerated));
+
+        dataGenerator.load();
+
+        assertEquals(10, count("SELECT COUNT(*) FROM movie WHERE title LIKE 'Synthetic Movie %'"));
+        movieRepository.deleteAll(saved);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
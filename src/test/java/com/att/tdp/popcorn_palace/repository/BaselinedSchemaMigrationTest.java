@@ -0,0 +1,76 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a database created by the old {@code ddl-auto: update}, which Flyway baselines at V1, and
+ * checks that it ends up with the objects a new database gets.
+ */
+class BaselinedSchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:baselined;DB_CLOSE_DELAY=-1";
+
+    /**
+     * The tables as Hibernate created them from the entities before migrations were introduced.
+     */
+    private static final String PRE_FLYWAY_SCHEMA = """
+            CREATE TABLE movie (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, title VARCHAR(255),
+                genre VARCHAR(255), duration INTEGER NOT NULL, rating FLOAT(53) NOT NULL, release_year INTEGER NOT NULL);
+            CREATE TABLE customer (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, full_name VARCHAR(255),
+                email VARCHAR(255));
+            CREATE TABLE showtime (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                movie_id BIGINT NOT NULL REFERENCES movie (id), theater VARCHAR(255), start_time TIMESTAMP(6),
+                end_time TIMESTAMP(6), price NUMERIC(38,2));
+            CREATE TABLE ticket_booking (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                seat_number INTEGER NOT NULL, showtime_id BIGINT NOT NULL REFERENCES showtime (id),
+                customer_id BIGINT NOT NULL REFERENCES customer (id), booked_at TIMESTAMP(6));
+            INSERT INTO movie VALUES (1, 'Inception', 'Sci-Fi', 148, 8.8, 2010);
+            INSERT INTO customer VALUES (1, 'Alice Johnson', 'alice@example.com');
+            INSERT INTO showtime VALUES (1, 1, 'Theater A', '2025-04-08 18:00', '2025-04-08 20:28', 12.50);
+            INSERT INTO ticket_booking VALUES (1, 11, 1, 1, NULL), (2, 11, 1, 1, NULL), (3, 12, 1, 1, NULL);
+            """;
+
+    @Test
+    @DisplayName("migrate - a baselined database gets the seat key and the idempotency table")
+    void migrate_baselinedDatabase_shouldCreateMissingObjects() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(PRE_FLYWAY_SCHEMA);
+
+            Flyway.configure()
+                    .dataSource(URL, "sa", "")
+                    .locations("classpath:db/migration/h2")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            assertEquals(1, count(statement, """
+                    SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+                    WHERE CONSTRAINT_NAME = 'UK_TICKET_BOOKING_SHOWTIME_SEAT' AND CONSTRAINT_TYPE = 'UNIQUE'"""));
+            assertEquals(1, count(statement, """
+                    SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES
+                    WHERE INDEX_NAME = 'IDX_IDEMPOTENCY_KEY_CREATED_AT' AND TABLE_NAME = 'IDEMPOTENCY_KEY'"""));
+            // the double booking of seat 11 is reduced to the earliest one
+            assertEquals(2, count(statement, "SELECT COUNT(*) FROM ticket_booking"));
+            assertEquals(1, count(statement, "SELECT COUNT(*) FROM ticket_booking WHERE seat_number = 11 AND id = 1"));
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.model.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerEmailUpsertTest {
+
+    @Autowired
+    private CustomerEmailUpsert customerEmailUpsert;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("createOrGet - a new email should insert the customer with a generated id")
+    void createOrGet_newEmail_shouldInsert() {
+        Customer created = createOrGet("Carol White", "carol@example.com");
+
+        assertNotNull(created.getId());
+        Customer stored = customerRepository.findByEmail("carol@example.com").orElseThrow();
+        assertEquals(created.getId(), stored.getId());
+        assertEquals("Carol White", stored.getFullName());
+    }
+
+    @Test
+    @DisplayName("createOrGet - a registered email should return the existing customer unchanged")
+    void createOrGet_existingEmail_shouldReturnExisting() {
+        Customer first = createOrGet("Dave Brown", "dave@example.com");
+
+        Customer second = createOrGet("David Brown", "dave@example.com");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals("Dave Brown", second.getFullName());
+        assertEquals(1, customerRepository.findByEmailIn(List.of("dave@example.com")).size());
+    }
+
+    @Test
+    @DisplayName("createOrGet - concurrent creates of one email should resolve to a single customer")
+    void createOrGet_concurrent_shouldResolveToOneCustomer() throws InterruptedException, ExecutionException {
+        List<Future<Customer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> createOrGet("Erin Green", "erin@example.com")));
+            }
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<Customer> result : results) {
+            ids.add(result.get().getId());
+        }
+        assertEquals(1, ids.size());
+        assertEquals(1, customerRepository.findByEmailIn(List.of("erin@example.com")).size());
+    }
+
+    private Customer createOrGet(String fullName, String email) {
+        Customer customer = new Customer();
+        customer.setFullName(fullName);
+        customer.setEmail(email);
+        return transactionTemplate.execute(status -> customerEmailUpsert.createOrGet(customer));
+    }
+}
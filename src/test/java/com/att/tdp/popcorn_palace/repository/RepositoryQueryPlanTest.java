@@ -0,0 +1,194 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs each repository query against the migrated H2 schema, captures the SQL Hibernate sends and checks
+ * its {@code EXPLAIN} plan: no statement may scan a table, and the query must use the index it was given.
+ * {@code ShowtimeRepository.findAllIntervals} reads every showtime by design and is not listed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            StatementInspector inspector = sql -> {
+                statements.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TicketBookingRepository bookingRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private Movie movie;
+    private Showtime showtime;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.findAll().get(0);
+        showtime = showtimeRepository.findAll().get(0);
+        customer = customerRepository.findAll().get(0);
+    }
+
+    static Stream<Arguments> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        return Stream.of(
+                query("MovieRepository.findByTitleAndGenreAndReleaseYear", "idx_movie_title_genre_year",
+                        t -> t.movieRepository.findByTitleAndGenreAndReleaseYear("Inception", "Sci Fi", 2010)),
+                query("MovieRepository.findByTitleIn", "idx_movie_title_genre_year",
+                        t -> t.movieRepository.findByTitleIn(List.of("Inception", "The Matrix"))),
+                query("ShowtimeRepository.findByMovie", "fk_showtime_movie",
+                        t -> t.showtimeRepository.findByMovie(t.movie)),
+                query("ShowtimeRepository.findByMovieIn", "fk_showtime_movie",
+                        t -> t.showtimeRepository.findByMovieIn(List.of(t.movie))),
+                query("ShowtimeRepository.findByIdGreaterThanOrderByIdAsc", "primary_key",
+                        t -> t.showtimeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))),
+                query("ShowtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual",
+                        "idx_showtime_theater_start_end",
+                        t -> t.showtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(
+                                "Theater A", now, now)),
+                query("ShowtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqualAndIdNot",
+                        "idx_showtime_theater_start_end",
+                        t -> t.showtimeRepository.existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqualAndIdNot(
+                                "Theater A", now, now, t.showtime.getId())),
+                query("ShowtimeRepository.findIntervalsByTheater", "idx_showtime_theater_start_end",
+                        t -> t.showtimeRepository.findIntervalsByTheater("Theater A")),
+                query("ShowtimeRepository.findIntervalsOverlapping", "idx_showtime_theater_start_end",
+                        t -> t.showtimeRepository.findIntervalsOverlapping("Theater A", now, now.plusHours(3))),
+                query("CustomerRepository.findByIdGreaterThanOrderByIdAsc", "primary_key",
+                        t -> t.customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))),
+                query("CustomerRepository.findByEmail", "uk_customer_email",
+                        t -> t.customerRepository.findByEmail("alice@example.com")),
+                query("CustomerRepository.findByEmailIn", "uk_customer_email",
+                        t -> t.customerRepository.findByEmailIn(List.of("alice@example.com", "bob@example.com"))),
+                query("TicketBookingRepository.existsByShowtime", "fk_ticket_booking_showtime",
+                        t -> t.bookingRepository.existsByShowtime(t.showtime)),
+                query("TicketBookingRepository.existsByCustomer", "fk_ticket_booking_customer",
+                        t -> t.bookingRepository.existsByCustomer(t.customer)),
+                query("TicketBookingRepository.findResponseById", "primary_key",
+                        t -> t.bookingRepository.findResponseById(1L)),
+                query("TicketBookingRepository.findResponsesAfter", "primary_key",
+                        t -> t.bookingRepository.findResponsesAfter(0L, Limit.of(10))),
+                query("TicketBookingRepository.findResponsesByCustomerId", "fk_ticket_booking_customer",
+                        t -> t.bookingRepository.findResponsesByCustomerId(t.customer.getId(), 0L, Limit.of(10))),
+                query("TicketBookingRepository.findUpcomingResponsesByCustomerId", "fk_ticket_booking_customer",
+                        t -> t.bookingRepository.findUpcomingResponsesByCustomerId(
+                                t.customer.getId(), 0L, now, Limit.of(10))),
+                query("TicketBookingRepository.findPastResponsesByCustomerId", "fk_ticket_booking_customer",
+                        t -> t.bookingRepository.findPastResponsesByCustomerId(
+                                t.customer.getId(), 0L, now, Limit.of(10))),
+                query("TicketBookingRepository.findSeatNumbersByShowtimeId", "uk_ticket_booking_showtime_seat",
+                        t -> t.bookingRepository.findSeatNumbersByShowtimeId(t.showtime.getId())),
+                query("MovieRepository.findFirstByOrderByIdAsc", "primary_key",
+                        t -> t.movieRepository.findFirstByOrderByIdAsc()),
+                query("CustomerRepository.findFirstByOrderByIdAsc", "primary_key",
+                        t -> t.customerRepository.findFirstByOrderByIdAsc()),
+                query("ShowtimeRepository.findFirstByOrderByIdAsc", "primary_key",
+                        t -> t.showtimeRepository.findFirstByOrderByIdAsc()),
+                query("TicketBookingRepository.findFirstByOrderByIdAsc", "primary_key",
+                        t -> t.bookingRepository.findFirstByOrderByIdAsc()),
+                query("IdempotencyRecordRepository.deleteCreatedBefore", "idx_idempotency_key_created_at",
+                        t -> t.idempotencyRecordRepository.deleteCreatedBefore(now.minusYears(1))),
+                query("IdempotencyRecordRepository.deleteByKeyAndCreatedAtBefore", "primary_key",
+                        t -> t.idempotencyRecordRepository.deleteByKeyAndCreatedAtBefore("key-1", now.minusYears(1)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Repository queries - every statement is planned on an index")
+    @MethodSource("queries")
+    void query_shouldUseIndex(String name, String expectedIndex, Consumer<RepositoryQueryPlanTest> query)
+            throws SQLException {
+        statements.clear();
+        query.accept(this);
+        List<String> plans = explain(List.copyOf(statements));
+
+        assertFalse(plans.isEmpty(), name + " sent no SQL");
+        for (String plan : plans) {
+            assertFalse(plan.toLowerCase().contains("tablescan"), name + " scans a table:\n" + plan);
+        }
+        assertTrue(plans.stream().anyMatch(plan -> plan.toLowerCase().contains(expectedIndex)),
+                name + " does not use " + expectedIndex + ":\n" + String.join("\n", plans));
+    }
+
+    private static Arguments query(String name, String expectedIndex, Consumer<RepositoryQueryPlanTest> query) {
+        return Arguments.of(name, expectedIndex, query);
+    }
+
+    private List<String> explain(List<String> sqls) throws SQLException {
+        List<String> plans = new ArrayList<>(sqls.size());
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : sqls) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                    // the planner picks the index from the predicates; the bound values do not matter
+                    ParameterMetaData parameters = statement.getParameterMetaData();
+                    for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                        statement.setNull(i, parameters.getParameterType(i));
+                    }
+                    try (ResultSet plan = statement.executeQuery()) {
+                        plan.next();
+                        plans.add(plan.getString(1));
+                    }
+                }
+            }
+        }
+        return plans;
+    }
+}
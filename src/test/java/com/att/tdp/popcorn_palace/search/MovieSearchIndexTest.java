@@ -0,0 +1,99 @@
+package com.att.tdp.popcorn_palace.search;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MovieSearchIndexTest {
+
+    private MovieRepository movieRepository;
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository = mock(MovieRepository.class);
+        when(movieRepository.findAll()).thenReturn(List.of(
+                movie(1L, "Inception", "Sci Fi", 8.8, 2010),
+                movie(2L, "The Matrix", "Sci Fi", 8.7, 1999),
+                movie(3L, "The Dark Knight", "Action", 9.0, 2008),
+                movie(4L, "Interstellar", "Sci-Fi", 8.6, 2014),
+                movie(5L, "The Matrix Reloaded", "Sci Fi", 7.2, 2003)));
+        index = new MovieSearchIndex(movieRepository);
+        index.warmUp();
+    }
+
+    @Test
+    @DisplayName("search - every query word must start a title word, ignoring case")
+    void search_shouldMatchTitleWordPrefixes() {
+        assertEquals(List.of(1L, 4L), ids(index.search("in", null, null, null, 0, 10)));
+        assertEquals(List.of(2L, 5L), ids(index.search("MATRIX the", null, null, null, 0, 10)));
+        assertEquals(List.of(5L), ids(index.search("matrix reload", null, null, null, 0, 10)));
+        assertEquals(List.of(), ids(index.search("atrix", null, null, null, 0, 10)));
+    }
+
+    @Test
+    @DisplayName("search - genre, release year and rating filters combine with the query")
+    void search_shouldCombineFilters() {
+        assertEquals(List.of(1L, 2L, 5L), ids(index.search(null, "sci fi", null, null, 0, 10)));
+        assertEquals(List.of(1L, 4L), ids(index.search(null, null, 2009, null, 0, 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search(null, null, null, 8.7, 0, 10)));
+        assertEquals(List.of(1L, 3L), ids(index.search(null, null, 2005, 8.7, 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("the", "Sci Fi", null, 8.0, 0, 10)));
+        assertEquals(List.of(), ids(index.search(null, "Western", null, null, 0, 10)));
+    }
+
+    @Test
+    @DisplayName("search - results are ordered by id and paged by after and limit")
+    void search_shouldPageById() {
+        assertEquals(List.of(1L, 2L), ids(index.search(null, null, null, null, 0, 2)));
+        assertEquals(List.of(3L, 5L), ids(index.search("the", null, null, null, 2, 10)));
+        assertEquals(List.of(5L), ids(index.search(null, null, 2000, null, 4, 10)));
+    }
+
+    @Test
+    @DisplayName("put and remove - changes are searchable without reading the movie table again")
+    void putAndRemove_shouldUpdateIndex() {
+        Movie renamed = movie(2L, "Matrix Resurrections", "Sci Fi", 5.7, 2021);
+        index.put(renamed);
+        index.put(movie(6L, "Dune", "Sci Fi", 8.0, 2021));
+        index.remove(1L);
+
+        assertEquals(List.of(5L), ids(index.search("the matrix", null, null, null, 0, 10)));
+        assertEquals(List.of(2L, 6L), ids(index.search(null, null, 2020, null, 0, 10)));
+        assertEquals(List.of(6L), ids(index.search(null, "sci fi", null, 7.5, 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("in", null, null, null, 0, 10)));
+        verify(movieRepository, times(1)).findAll();
+        verifyNoMoreInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("search - returned movies are copies, not the indexed instances")
+    void search_shouldReturnCopies() {
+        Movie found = index.search("inception", null, null, null, 0, 1).get(0);
+        found.setTitle("Changed");
+
+        assertEquals("Inception", index.search("inception", null, null, null, 0, 1).get(0).getTitle());
+    }
+
+    private static List<Long> ids(List<Movie> movies) {
+        return movies.stream().map(Movie::getId).toList();
+    }
+
+    private static Movie movie(Long id, String title, String genre, double rating, int releaseYear) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setDuration(120);
+        movie.setRating(rating);
+        movie.setReleaseYear(releaseYear);
+        return movie;
+    }
+}
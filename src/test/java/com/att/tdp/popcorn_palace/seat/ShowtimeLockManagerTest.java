@@ -0,0 +1,90 @@
+package com.att.tdp.popcorn_palace.seat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShowtimeLockManagerTest {
+
+    private final ShowtimeLockManager locks = new ShowtimeLockManager(64, Duration.ofMillis(50));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("withLock - the showtime stays locked until the action returns")
+    void withLock_shouldHoldUntilActionReturns() {
+        String result = locks.withLock(1L, () -> {
+            CompletionException busy = assertThrows(CompletionException.class, () -> lockFromAnotherThread(1L).join());
+            assertInstanceOf(CannotAcquireLockException.class, busy.getCause());
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals("locked", lockFromAnotherThread(1L).join());
+    }
+
+    @Test
+    @DisplayName("withLock - inside a transaction the showtime stays locked until it completes")
+    void withLock_inTransaction_shouldHoldUntilCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        locks.withLock(1L, () -> "done");
+
+        assertThrows(CompletionException.class, () -> lockFromAnotherThread(1L).join());
+
+        completeTransaction();
+
+        assertEquals("locked", lockFromAnotherThread(1L).join());
+    }
+
+    @Test
+    @DisplayName("withLock - other showtimes are not blocked")
+    void withLock_otherShowtimes_shouldProceed() {
+        assertNotEquals(locks.stripeOf(1L), locks.stripeOf(2L));
+
+        assertEquals("locked", locks.withLock(1L, () -> lockFromAnotherThread(2L).join()));
+    }
+
+    @Test
+    @DisplayName("stats - counts acquisitions and contention per stripe")
+    void stats_shouldCountContention() {
+        locks.withLock(1L, () -> assertThrows(CompletionException.class, () -> lockFromAnotherThread(1L).join()));
+
+        ShowtimeLockManager.StripeStats stripe = locks.stats().get(locks.stripeOf(1L));
+        assertEquals(2, stripe.acquisitions());
+        assertEquals(1, stripe.contended());
+        assertTrue(stripe.waited().toMillis() >= 40);
+        assertEquals(0, locks.stats().get(locks.stripeOf(2L)).acquisitions());
+    }
+
+    @Test
+    @DisplayName("stripe count is rounded up to a power of two")
+    void stripeCount_shouldRoundUp() {
+        assertEquals(64, new ShowtimeLockManager(48, Duration.ofSeconds(1)).stripeCount());
+        assertEquals(1, new ShowtimeLockManager(1, Duration.ofSeconds(1)).stripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new ShowtimeLockManager(0, Duration.ofSeconds(1)));
+    }
+
+    private CompletableFuture<String> lockFromAnotherThread(Long showtimeId) {
+        return CompletableFuture.supplyAsync(() -> locks.withLock(showtimeId, () -> "locked"));
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
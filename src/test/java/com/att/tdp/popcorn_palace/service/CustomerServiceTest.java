@@ -1,14 +1,24 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.cache.CustomerEmailCache;
+import com.att.tdp.popcorn_palace.dto.BookingPeriod;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
 import com.att.tdp.popcorn_palace.model.Customer;
+import com.att.tdp.popcorn_palace.repository.CustomerEmailUpsert;
 import com.att.tdp.popcorn_palace.repository.CustomerRepository;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
 import com.att.tdp.popcorn_palace.service.impl.CustomerServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +29,8 @@ class CustomerServiceTest {
 
     private CustomerRepository customerRepository;
     private TicketBookingRepository bookingRepository;
+    private CustomerEmailUpsert customerEmailUpsert;
+    private CustomerEmailCache customerEmailCache;
     private CustomerServiceImpl service;
 
     private Customer customer;
@@ -27,7 +39,9 @@ class CustomerServiceTest {
     void setUp() {
         customerRepository = mock(CustomerRepository.class);
         bookingRepository = mock(TicketBookingRepository.class);
-        service = new CustomerServiceImpl(customerRepository, bookingRepository);
+        customerEmailUpsert = mock(CustomerEmailUpsert.class);
+        customerEmailCache = new CustomerEmailCache(customerRepository, Duration.ofMinutes(10), 100);
+        service = new CustomerServiceImpl(customerRepository, bookingRepository, customerEmailUpsert, customerEmailCache);
 
         customer = new Customer();
         customer.setId(1L);
@@ -35,10 +49,17 @@ class CustomerServiceTest {
         customer.setEmail("alice@example.com");
     }
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     @DisplayName("createCustomer - should return created customer")
     void createCustomer_shouldReturnCustomer() {
-        when(customerRepository.save(any())).thenReturn(customer);
+        when(customerEmailUpsert.createOrGet(any())).thenReturn(customer);
 
         Customer result = service.createCustomer(customer);
 
@@ -47,15 +68,79 @@ class CustomerServiceTest {
         assertEquals("alice@example.com", result.getEmail());
     }
 
+    @Test
+    @DisplayName("createCustomer - a cached email should still go through the upsert")
+    void createCustomer_cachedEmail_shouldStillUpsert() {
+        when(customerEmailUpsert.createOrGet(any())).thenReturn(customer);
+        service.createCustomer(customer);
+
+        Customer again = new Customer();
+        again.setFullName("Alice J.");
+        again.setEmail("alice@example.com");
+        Customer result = service.createCustomer(again);
+
+        assertSame(customer, result);
+        verify(customerEmailUpsert, times(2)).createOrGet(any());
+    }
+
+    @Test
+    @DisplayName("createCustomer - the near-cache is filled only once the transaction commits")
+    void createCustomer_shouldCacheAfterCommit() {
+        when(customerEmailUpsert.createOrGet(any())).thenReturn(customer);
+        TransactionSynchronizationManager.initSynchronization();
+        service.createCustomer(customer);
+
+        assertTrue(customerEmailCache.findByEmail("alice@example.com").isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertSame(customer, customerEmailCache.findByEmail("alice@example.com").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("createCustomer - a rolled back create should not be cached")
+    void createCustomer_rolledBack_shouldNotCache() {
+        when(customerEmailUpsert.createOrGet(any())).thenReturn(customer);
+        TransactionSynchronizationManager.initSynchronization();
+        service.createCustomer(customer);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertTrue(customerEmailCache.findByEmail("alice@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("getCustomerByEmail - repeated lookups should be served from the near-cache")
+    void getCustomerByEmail_shouldCacheHits() {
+        when(customerRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(customer));
+
+        assertEquals(1L, service.getCustomerByEmail("alice@example.com").getId());
+        assertEquals(1L, service.getCustomerByEmail("alice@example.com").getId());
+
+        verify(customerRepository, times(1)).findByEmail("alice@example.com");
+    }
+
+    @Test
+    @DisplayName("getCustomerByEmail - unknown email should throw and not be cached")
+    void getCustomerByEmail_notFound_shouldThrow() {
+        when(customerRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.getCustomerByEmail("nobody@example.com"));
+        assertThrows(EntityNotFoundException.class, () -> service.getCustomerByEmail("nobody@example.com"));
+        verify(customerRepository, times(2)).findByEmail("nobody@example.com");
+    }
+
     @Test
     @DisplayName("getAllCustomers - should return list")
     void getAllCustomers_shouldReturnList() {
-        when(customerRepository.findAll()).thenReturn(List.of(customer));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101))).thenReturn(List.of(customer));
 
-        List<Customer> result = service.getAllCustomers();
+        CursorPage<Customer> result = service.getAllCustomers(null, 100);
 
-        assertEquals(1, result.size());
-        assertEquals("Alice Johnson", result.get(0).getFullName());
+        assertEquals(1, result.getItems().size());
+        assertEquals("Alice Johnson", result.getItems().get(0).getFullName());
+        assertNull(result.getNextAfter());
     }
 
     @Test
@@ -69,6 +154,19 @@ class CustomerServiceTest {
         verify(customerRepository).delete(customer);
     }
 
+    @Test
+    @DisplayName("deleteCustomer - should drop the customer from the email near-cache")
+    void deleteCustomer_shouldEvictEmail() {
+        when(customerRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(customer));
+        service.getCustomerByEmail("alice@example.com");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByEmail("alice@example.com")).thenReturn(Optional.empty());
+
+        service.deleteCustomer(1L);
+
+        assertThrows(EntityNotFoundException.class, () -> service.getCustomerByEmail("alice@example.com"));
+    }
+
     @Test
     @DisplayName("deleteCustomer - customer has bookings should throw")
     void deleteCustomer_hasBookings_shouldThrow() {
@@ -85,4 +183,56 @@ class CustomerServiceTest {
 
         assertThrows(EntityNotFoundException.class, () -> service.deleteCustomer(99L));
     }
+
+    @Test
+    @DisplayName("getBookingsByCustomerId - should read the joined projection")
+    void getBookingsByCustomerId_shouldUseProjection() {
+        TicketBookingResponse booking = new TicketBookingResponse(5L, 2L, 11, 1L, "Alice Johnson", null);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findResponsesByCustomerId(1L, 0L, Limit.of(101))).thenReturn(List.of(booking));
+
+        CursorPage<TicketBookingResponse> result = service.getBookingsByCustomerId(1L, null, null, 100);
+
+        assertEquals(List.of(booking), result.getItems());
+        assertNull(result.getNextAfter());
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("getBookingsByCustomerId - a full page should point at the next one")
+    void getBookingsByCustomerId_fullPage_shouldReturnNextAfter() {
+        TicketBookingResponse first = new TicketBookingResponse(5L, 2L, 11, 1L, "Alice Johnson", null);
+        TicketBookingResponse second = new TicketBookingResponse(8L, 2L, 12, 1L, "Alice Johnson", null);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findResponsesByCustomerId(1L, 4L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        CursorPage<TicketBookingResponse> result = service.getBookingsByCustomerId(1L, null, 4L, 1);
+
+        assertEquals(List.of(first), result.getItems());
+        assertEquals(5L, result.getNextAfter());
+    }
+
+    @Test
+    @DisplayName("getBookingsByCustomerId - upcoming and past read their own queries")
+    void getBookingsByCustomerId_period_shouldFilterByStartTime() {
+        TicketBookingResponse booking = new TicketBookingResponse(5L, 2L, 11, 1L, "Alice Johnson", null);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findUpcomingResponsesByCustomerId(eq(1L), eq(0L), any(), eq(Limit.of(101))))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findPastResponsesByCustomerId(eq(1L), eq(0L), any(), eq(Limit.of(101))))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(booking), service.getBookingsByCustomerId(1L, BookingPeriod.UPCOMING, null, 100).getItems());
+        assertEquals(List.of(), service.getBookingsByCustomerId(1L, BookingPeriod.PAST, null, 100).getItems());
+        verify(bookingRepository, never()).findResponsesByCustomerId(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("getBookingsByCustomerId - customer not found should throw")
+    void getBookingsByCustomerId_notFound_shouldThrow() {
+        when(customerRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> service.getBookingsByCustomerId(99L, null, null, 100));
+        verify(bookingRepository, never()).findResponsesByCustomerId(any(), anyLong(), any());
+    }
 }
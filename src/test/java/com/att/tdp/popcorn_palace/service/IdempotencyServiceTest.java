@@ -0,0 +1,214 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.model.IdempotencyRecord;
+import com.att.tdp.popcorn_palace.repository.IdempotencyRecordRepository;
+import com.att.tdp.popcorn_palace.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private IdempotencyServiceImpl service;
+
+    private TicketBookingRequest request;
+    private TicketBookingResponse response;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(recordRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        service = newService();
+
+        request = new TicketBookingRequest();
+        request.setShowtimeId(1L);
+        request.setCustomerId(1L);
+        request.setSeatNumber(11);
+
+        response = new TicketBookingResponse(5L, 1L, 11, 1L, "John Doe", LocalDateTime.of(2025, 4, 1, 12, 0),
+                "Theater 1", BigDecimal.TEN, LocalDateTime.of(2025, 4, 2, 20, 0), LocalDateTime.of(2025, 4, 2, 22, 0),
+                "Inception");
+    }
+
+    @Test
+    @DisplayName("execute - a retry is answered from memory without running the booking again")
+    void execute_retry_shouldReplayFromCache() {
+        AtomicInteger bookings = new AtomicInteger();
+
+        IdempotencyService.Outcome<TicketBookingResponse> first = service.execute("key-1", request,
+                TicketBookingResponse.class, () -> { bookings.incrementAndGet(); return response; });
+        IdempotencyService.Outcome<TicketBookingResponse> retry = service.execute("key-1", request,
+                TicketBookingResponse.class, () -> { bookings.incrementAndGet(); return response; });
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(5L, retry.response().getBookingId());
+        assertEquals("Inception", retry.response().getMovieTitle());
+        assertEquals(1, bookings.get());
+        verify(recordRepository, times(1)).save(any());
+        verify(recordRepository, times(1)).findById("key-1");
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("execute - the stored response survives a restart")
+    void execute_afterRestart_shouldReplayFromTable() {
+        service.execute("key-1", request, TicketBookingResponse.class, () -> response);
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recordRepository).save(saved.capture());
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(saved.getValue()));
+
+        IdempotencyService.Outcome<TicketBookingResponse> retry = newService().execute("key-1", request,
+                TicketBookingResponse.class, () -> fail("booking must not run again"));
+
+        assertTrue(retry.replayed());
+        assertEquals(11, retry.response().getSeatNumber());
+    }
+
+    @Test
+    @DisplayName("execute - a key reused for a different request should throw")
+    void execute_keyReused_shouldThrow() {
+        service.execute("key-1", request, TicketBookingResponse.class, () -> response);
+        request.setSeatNumber(12);
+
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                service.execute("key-1", request, TicketBookingResponse.class, () -> response));
+    }
+
+    @Test
+    @DisplayName("execute - a failed booking is not stored, so the retry runs it again")
+    void execute_failure_shouldNotBeStored() {
+        assertThrows(SeatAlreadyBookedException.class, () -> service.execute("key-1", request,
+                TicketBookingResponse.class, () -> { throw new SeatAlreadyBookedException("Seat already booked"); }));
+
+        IdempotencyService.Outcome<TicketBookingResponse> retry =
+                service.execute("key-1", request, TicketBookingResponse.class, () -> response);
+
+        assertFalse(retry.replayed());
+        verify(recordRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("execute - a retry arriving mid-booking waits for the first attempt")
+    void execute_concurrentRetry_shouldWaitForFirstAttempt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger bookings = new AtomicInteger();
+
+        CompletableFuture<IdempotencyService.Outcome<TicketBookingResponse>> first = CompletableFuture.supplyAsync(() ->
+                service.execute("key-1", request, TicketBookingResponse.class, () -> {
+                    bookings.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return response;
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyService.Outcome<TicketBookingResponse>> retry = CompletableFuture.supplyAsync(() ->
+                service.execute("key-1", request, TicketBookingResponse.class, () -> {
+                    bookings.incrementAndGet();
+                    return response;
+                }));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertTrue(retry.get(5, TimeUnit.SECONDS).replayed());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    @DisplayName("execute - an expired row that was not purged yet is deleted and the booking runs")
+    void execute_expiredRow_shouldRunAgain() {
+        IdempotencyRecord expired = new IdempotencyRecord("key-1", "stale", "{}", LocalDateTime.now().minusDays(2));
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(expired));
+
+        IdempotencyService.Outcome<TicketBookingResponse> outcome =
+                service.execute("key-1", request, TicketBookingResponse.class, () -> response);
+
+        assertFalse(outcome.replayed());
+        verify(recordRepository).deleteByKeyAndCreatedAtBefore(eq("key-1"), any());
+        verify(recordRepository).save(any());
+    }
+
+    @Test
+    @DisplayName("execute - losing the insert race to an expired row should not replay it")
+    void execute_duplicateKeyOnExpiredRow_shouldThrow() {
+        IdempotencyRecord expired = new IdempotencyRecord("key-1", "stale", "{}", LocalDateTime.now().minusDays(2));
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty(), Optional.of(expired));
+        when(recordRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                service.execute("key-1", request, TicketBookingResponse.class, () -> response));
+    }
+
+    @Test
+    @DisplayName("executeThenStore - the action runs outside a transaction and the response is stored after it")
+    void executeThenStore_shouldStoreAfterAction() {
+        IdempotencyService.Outcome<TicketBookingResponse> first = service.executeThenStore("key-1", request,
+                TicketBookingResponse.class, () -> {
+                    verifyNoInteractions(transactionManager);
+                    return response;
+                });
+        IdempotencyService.Outcome<TicketBookingResponse> retry = service.executeThenStore("key-1", request,
+                TicketBookingResponse.class, () -> fail("booking must not run again"));
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        verify(recordRepository, times(1)).save(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("execute - blank or oversized keys should throw")
+    void execute_invalidKey_shouldThrow() {
+        assertThrows(InvalidRequestException.class, () ->
+                service.execute(" ", request, TicketBookingResponse.class, () -> response));
+        assertThrows(InvalidRequestException.class, () ->
+                service.execute("k".repeat(101), request, TicketBookingResponse.class, () -> response));
+    }
+
+    private IdempotencyServiceImpl newService() {
+        return new IdempotencyServiceImpl(recordRepository, transactionManager, objectMapper, Duration.ofHours(24), 1000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
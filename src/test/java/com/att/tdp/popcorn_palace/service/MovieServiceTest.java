@@ -1,23 +1,28 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.cache.MovieCatalogCache;
+import com.att.tdp.popcorn_palace.dto.CursorPage;
 import com.att.tdp.popcorn_palace.dto.MovieCreateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequest;
 import com.att.tdp.popcorn_palace.dto.MovieResponse;
 import com.att.tdp.popcorn_palace.exception.DuplicateMovieException;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.search.MovieSearchIndex;
 import com.att.tdp.popcorn_palace.service.impl.MovieServiceImpl;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -33,7 +38,8 @@ class MovieServiceTest {
     @Mock
     private ShowtimeRepository showtimeRepository;
 
-    @InjectMocks
+    private MovieCatalogCache movieCatalog;
+
     private MovieServiceImpl movieService;
 
     private Movie movie;
@@ -41,6 +47,9 @@ class MovieServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        movieCatalog = new MovieCatalogCache(movieRepository, Duration.ofMinutes(10), 100);
+        movieService = new MovieServiceImpl(movieRepository, showtimeRepository, movieCatalog,
+                new MovieSearchIndex(movieRepository));
         movie = new Movie();
         movie.setId(1L);
         movie.setTitle("Test Movie");
@@ -87,12 +96,108 @@ class MovieServiceTest {
     @Test
     @DisplayName("getAllMovies should return list of responses")
     void getAllMovies_ShouldReturnResponses() {
-        when(movieRepository.findAll()).thenReturn(List.of(movie));
+        when(movieRepository.findAll(any(Sort.class))).thenReturn(List.of(movie));
+
+        CursorPage<MovieResponse> result = movieService.getAllMovies(null, 100);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Test Movie", result.getItems().get(0).getTitle());
+        assertNull(result.getNextAfter());
+    }
+
+    @Test
+    @DisplayName("getAllMovies should return a cursor when more rows follow")
+    void getAllMovies_MoreRows_ShouldReturnNextCursor() {
+        Movie next = new Movie();
+        next.setId(2L);
+        next.setTitle("Next Movie");
+        when(movieRepository.findAll(any(Sort.class))).thenReturn(List.of(movie, next));
+
+        CursorPage<MovieResponse> result = movieService.getAllMovies(0L, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(movie.getId(), result.getNextAfter());
+    }
+
+    @Test
+    @DisplayName("getAllMovies should page from one cached catalog snapshot")
+    void getAllMovies_SecondPage_ShouldReuseSnapshot() {
+        Movie next = new Movie();
+        next.setId(2L);
+        next.setTitle("Next Movie");
+        when(movieRepository.findAll(any(Sort.class))).thenReturn(List.of(movie, next));
+
+        movieService.getAllMovies(null, 1);
+        CursorPage<MovieResponse> second = movieService.getAllMovies(1L, 1);
+
+        assertEquals("Next Movie", second.getItems().get(0).getTitle());
+        assertNull(second.getNextAfter());
+        verify(movieRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("getMovieById should serve repeated lookups from the cache")
+    void getMovieById_Repeated_ShouldHitCache() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+
+        movieService.getMovieById(1L);
+        MovieResponse result = movieService.getMovieById(1L);
+
+        assertEquals("Test Movie", result.getTitle());
+        verify(movieRepository, times(1)).findById(1L);
+        assertEquals(1, movieCatalog.byIdStats().hitCount());
+        assertEquals(1, movieCatalog.byIdStats().missCount());
+    }
+
+    @Test
+    @DisplayName("getMovieById should throw when movie not found")
+    void getMovieById_NotFound_ShouldThrow() {
+        when(movieRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> movieService.getMovieById(99L));
+    }
+
+    @Test
+    @DisplayName("updateMovie should evict the cached movie and catalog")
+    void updateMovie_ShouldEvictCache() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(movieRepository.findAll(any(Sort.class))).thenReturn(List.of(movie));
+        when(movieRepository.save(any())).thenReturn(movie);
+        movieService.getMovieById(1L);
+        movieService.getAllMovies(null, 10);
+
+        MovieUpdateRequest updateRequest = new MovieUpdateRequest();
+        updateRequest.setTitle("Updated Title");
+        updateRequest.setGenre("Drama");
+        updateRequest.setRating(7.8);
+        movieService.updateMovie(1L, updateRequest);
+        movieService.getMovieById(1L);
+        movieService.getAllMovies(null, 10);
+
+        verify(movieRepository, times(2)).findAll(any(Sort.class));
+        assertEquals(2, movieCatalog.byIdStats().missCount());
+    }
+
+    @Test
+    @DisplayName("createMovie should evict a cached miss for the new id")
+    void createMovie_ShouldEvictCachedMiss() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.empty()).thenReturn(Optional.of(movie));
+        when(movieRepository.save(any())).thenReturn(movie);
+        assertThrows(EntityNotFoundException.class, () -> movieService.getMovieById(1L));
+
+        MovieCreateRequest request = new MovieCreateRequest();
+        request.setTitle("Test Movie");
+        request.setGenre("Action");
+        movieService.createMovie(request);
 
-        List<MovieResponse> result = movieService.getAllMovies();
+        assertEquals("Test Movie", movieService.getMovieById(1L).getTitle());
+    }
 
-        assertEquals(1, result.size());
-        assertEquals("Test Movie", result.get(0).getTitle());
+    @Test
+    @DisplayName("getAllMovies should reject a limit above the maximum")
+    void getAllMovies_LimitTooLarge_ShouldThrow() {
+        assertThrows(InvalidRequestException.class,
+                () -> movieService.getAllMovies(null, CursorPage.MAX_LIMIT + 1));
     }
 
     @Test
@@ -152,4 +257,33 @@ class MovieServiceTest {
 
         assertThrows(EntityNotFoundException.class, () -> movieService.deleteMovie(999L));
     }
+
+    @Test
+    @DisplayName("searchMovies should find created movies and drop deleted ones")
+    void searchMovies_ShouldFollowCreateAndDelete() {
+        when(movieRepository.findByTitleAndGenreAndReleaseYear("Test Movie", "Action", 2022)).thenReturn(null);
+        when(movieRepository.save(any(Movie.class))).thenReturn(movie);
+        MovieCreateRequest request = new MovieCreateRequest();
+        request.setTitle("Test Movie");
+        request.setGenre("Action");
+        request.setDuration(120);
+        request.setRating(8.5);
+        request.setReleaseYear(2022);
+        movieService.createMovie(request);
+
+        CursorPage<MovieResponse> found = movieService.searchMovies("test", "action", 2020, 8.0, null, 10);
+        assertEquals(List.of(1L), found.getItems().stream().map(MovieResponse::getId).toList());
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(showtimeRepository.findByMovie(movie)).thenReturn(Collections.emptyList());
+        movieService.deleteMovie(1L);
+
+        assertTrue(movieService.searchMovies("test", null, null, null, null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("searchMovies should reject an invalid limit")
+    void searchMovies_InvalidLimit_ShouldThrow() {
+        assertThrows(InvalidRequestException.class, () -> movieService.searchMovies("test", null, null, null, null, 0));
+    }
 }
@@ -0,0 +1,227 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.SeatHoldRequest;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponse;
+import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.repository.CustomerRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
+import com.att.tdp.popcorn_palace.seat.SeatChange;
+import com.att.tdp.popcorn_palace.seat.SeatChangeBus;
+import com.att.tdp.popcorn_palace.seat.SeatHoldRegistry;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.impl.SeatHoldServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SeatHoldServiceTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private TicketBookingRepository bookingRepository;
+
+    @Mock
+    private TicketBookingService bookingService;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SeatOccupancyIndex seatIndex;
+    private SeatChangeBus seatChanges;
+    private SeatHoldServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(Collections.emptyList());
+        when(customerRepository.existsById(7L)).thenReturn(true);
+        service = newService(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("placeHold - held seats are unavailable to other holds")
+    void placeHold_shouldBlockSameSeats() {
+        SeatHoldResponse hold = service.placeHold(1L, holdRequest(5, 6));
+
+        assertNotNull(hold.getHoldId());
+        assertEquals(List.of(5, 6), hold.getSeatNumbers());
+        assertNotNull(hold.getExpiresAt());
+        assertThrows(SeatAlreadyBookedException.class, () -> service.placeHold(1L, holdRequest(6, 7)));
+        assertFalse(seatIndex.seats(1L).isTaken(7));
+    }
+
+    @Test
+    @DisplayName("placeHold - held seats cannot be booked directly")
+    void placeHold_shouldBlockDirectBooking() {
+        service.placeHold(1L, holdRequest(5));
+
+        assertThrows(SeatAlreadyBookedException.class, () -> seatIndex.claim(1L, 5));
+    }
+
+    @Test
+    @DisplayName("placeHold - repeated seat numbers should throw")
+    void placeHold_duplicateSeats_shouldThrow() {
+        assertThrows(InvalidRequestException.class, () -> service.placeHold(1L, holdRequest(5, 5)));
+        assertFalse(seatIndex.seats(1L).isTaken(5));
+    }
+
+    @Test
+    @DisplayName("placeHold - an unknown customer should throw without claiming seats")
+    void placeHold_unknownCustomer_shouldThrow() {
+        SeatHoldRequest request = holdRequest(5, 6);
+        request.setCustomerId(99L);
+
+        assertThrows(EntityNotFoundException.class, () -> service.placeHold(1L, request));
+        assertFalse(seatIndex.seats(1L).isTaken(5));
+        assertFalse(seatIndex.seats(1L).isTaken(6));
+    }
+
+    @Test
+    @DisplayName("placeHold - held seats survive a reload of the seat bitmap")
+    void placeHold_shouldSurviveReload() {
+        service.placeHold(1L, holdRequest(5));
+
+        seatIndex.invalidate(1L);
+
+        assertTrue(seatIndex.seats(1L).isTaken(5));
+    }
+
+    @Test
+    @DisplayName("releaseHold - frees the seats")
+    void releaseHold_shouldFreeSeats() {
+        SeatHoldResponse hold = service.placeHold(1L, holdRequest(5));
+
+        service.releaseHold(1L, hold.getHoldId());
+
+        assertFalse(seatIndex.seats(1L).isTaken(5));
+        assertThrows(EntityNotFoundException.class, () -> service.releaseHold(1L, hold.getHoldId()));
+    }
+
+    @Test
+    @DisplayName("confirmHold - books the held seats and consumes the hold")
+    void confirmHold_shouldBookSeats() {
+        SeatHoldResponse hold = service.placeHold(1L, holdRequest(5, 6));
+        TicketBookingResponse booked = new TicketBookingResponse(1L, 1L, 5, 7L, "John Doe", null);
+        when(bookingService.bookHeldSeats(1L, 7L, List.of(5, 6))).thenReturn(List.of(booked));
+
+        List<TicketBookingResponse> result = service.confirmHold(1L, hold.getHoldId());
+
+        assertEquals(List.of(booked), result);
+        assertTrue(seatIndex.seats(1L).isTaken(5));
+        assertThrows(EntityNotFoundException.class, () -> service.confirmHold(1L, hold.getHoldId()));
+    }
+
+    @Test
+    @DisplayName("confirmHold - failed booking keeps the hold for a retry")
+    void confirmHold_failure_shouldRestoreHold() {
+        SeatHoldResponse hold = service.placeHold(1L, holdRequest(5));
+        when(bookingService.bookHeldSeats(eq(1L), eq(7L), anyList()))
+                .thenThrow(new EntityNotFoundException("Customer not found"))
+                .thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> service.confirmHold(1L, hold.getHoldId()));
+        assertTrue(seatIndex.seats(1L).isTaken(5));
+
+        service.confirmHold(1L, hold.getHoldId());
+        verify(bookingService, times(2)).bookHeldSeats(any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("confirmHold - hold of another showtime should throw")
+    void confirmHold_wrongShowtime_shouldThrow() {
+        SeatHoldResponse hold = service.placeHold(1L, holdRequest(5));
+
+        assertThrows(EntityNotFoundException.class, () -> service.confirmHold(2L, hold.getHoldId()));
+        verify(bookingService, never()).bookHeldSeats(any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("expired holds release their seats without a confirm")
+    void expiredHold_shouldReleaseSeats() throws InterruptedException {
+        service = newService(Duration.ofMillis(50));
+        service.start();
+        try {
+            SeatHoldResponse hold = service.placeHold(1L, holdRequest(5));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (seatIndex.seats(1L).isTaken(5) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertFalse(seatIndex.seats(1L).isTaken(5));
+            assertThrows(EntityNotFoundException.class, () -> service.confirmHold(1L, hold.getHoldId()));
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("placeHold and releaseHold - a watcher sees only the latest state of each seat")
+    void holdChanges_shouldCoalescePerSeat() throws InterruptedException {
+        try (SeatChangeBus.Subscription subscription = seatChanges.subscribe(1L)) {
+            SeatHoldResponse hold = service.placeHold(1L, holdRequest(5, 6));
+            service.releaseHold(1L, hold.getHoldId());
+            service.placeHold(1L, holdRequest(7));
+
+            SeatChangeBus.Batch batch = subscription.poll(Duration.ZERO);
+
+            assertFalse(batch.resync());
+            assertEquals(List.of(
+                    new SeatChange(1L, 5, SeatChange.Type.RELEASED),
+                    new SeatChange(1L, 6, SeatChange.Type.RELEASED),
+                    new SeatChange(1L, 7, SeatChange.Type.HELD)), batch.changes());
+            assertNull(subscription.poll(Duration.ZERO));
+        }
+    }
+
+    @Test
+    @DisplayName("placeHold - a watcher that falls behind is told to resync")
+    void holdChanges_overflow_shouldRequestResync() throws InterruptedException {
+        try (SeatChangeBus.Subscription subscription = seatChanges.subscribe(1L)) {
+            service.placeHold(1L, holdRequest(1, 2, 3));
+            service.placeHold(1L, holdRequest(4, 5));
+
+            SeatChangeBus.Batch batch = subscription.poll(Duration.ZERO);
+
+            assertTrue(batch.resync());
+            assertTrue(batch.changes().isEmpty());
+
+            service.placeHold(1L, holdRequest(6));
+            assertEquals(List.of(new SeatChange(1L, 6, SeatChange.Type.HELD)),
+                    subscription.poll(Duration.ZERO).changes());
+        }
+    }
+
+    private SeatHoldServiceImpl newService(Duration ttl) {
+        SeatHoldRegistry registry = new SeatHoldRegistry();
+        seatIndex = new SeatOccupancyIndex(showtimeRepository, bookingRepository, registry);
+        seatChanges = new SeatChangeBus(4);
+        return new SeatHoldServiceImpl(registry, seatIndex, bookingService, customerRepository, seatChanges, ttl);
+    }
+
+    private static SeatHoldRequest holdRequest(Integer... seatNumbers) {
+        SeatHoldRequest request = new SeatHoldRequest();
+        request.setCustomerId(7L);
+        request.setSeatNumbers(List.of(seatNumbers));
+        return request;
+    }
+}
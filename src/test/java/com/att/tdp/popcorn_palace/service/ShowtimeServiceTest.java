@@ -1,24 +1,41 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.dto.CursorPage;
+import com.att.tdp.popcorn_palace.dto.SeatMapResponse;
+import com.att.tdp.popcorn_palace.dto.ShowtimeConflict;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleResponse;
 import com.att.tdp.popcorn_palace.exception.ShowtimeConflictException;
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
+import com.att.tdp.popcorn_palace.schedule.ShowtimeInterval;
+import com.att.tdp.popcorn_palace.schedule.ShowtimeIntervalIndex;
+import com.att.tdp.popcorn_palace.seat.SeatHoldRegistry;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
 import com.att.tdp.popcorn_palace.service.impl.ShowtimeServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,15 +48,28 @@ class ShowtimeServiceTest {
     @Mock
     private TicketBookingRepository bookingRepository;
 
-    @InjectMocks
+    @Mock
+    private MovieRepository movieRepository;
+
     private ShowtimeServiceImpl showtimeService;
+    private SeatOccupancyIndex seatIndex;
 
     private Showtime showtime;
     private Movie movie;
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        seatIndex = new SeatOccupancyIndex(showtimeRepository, bookingRepository, new SeatHoldRegistry());
+        showtimeService = new ShowtimeServiceImpl(bookingRepository, showtimeRepository, movieRepository,
+                new ShowtimeIntervalIndex(showtimeRepository), seatIndex);
 
         movie = new Movie();
         movie.setId(1L);
@@ -76,6 +106,35 @@ class ShowtimeServiceTest {
         assertThrows(ShowtimeConflictException.class, () -> showtimeService.createShowtime(showtime));
     }
 
+    @Test
+    @DisplayName("Create showtime overlapping an indexed showtime is rejected without a query")
+    void createShowtime_conflictInIndex_shouldThrowWithoutQuery() {
+        when(showtimeRepository.findIntervalsByTheater("Theater A")).thenReturn(List.of(interval(showtime)));
+
+        Showtime overlapping = newShowtime("Theater A", LocalDateTime.of(2025, 4, 8, 15, 0));
+
+        assertThrows(ShowtimeConflictException.class, () -> showtimeService.createShowtime(overlapping));
+        verify(showtimeRepository, never())
+                .existsByTheaterAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(any(), any(), any());
+        verify(showtimeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deleted showtime no longer blocks its slot")
+    void deleteShowtime_shouldFreeIndexedSlot() {
+        when(showtimeRepository.findIntervalsByTheater("Theater A")).thenReturn(List.of(interval(showtime)));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Showtime replacement = newShowtime("Theater A", LocalDateTime.of(2025, 4, 8, 15, 0));
+        replacement.setId(2L);
+        assertThrows(ShowtimeConflictException.class, () -> showtimeService.createShowtime(replacement));
+
+        showtimeService.deleteShowtime(1L);
+
+        assertNotNull(showtimeService.createShowtime(replacement));
+    }
+
     @Test
     @DisplayName("Get existing showtime by ID")
     void getShowtime_success() {
@@ -86,6 +145,38 @@ class ShowtimeServiceTest {
         assertEquals(1L, result.getId());
     }
 
+    @Test
+    @DisplayName("Seat map reflects booked seats and later claims")
+    void getSeatMap_tracksOccupancy() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(1, 9, 100));
+
+        SeatMapResponse first = showtimeService.getSeatMap(1L);
+
+        assertEquals(100, first.getCapacity());
+        assertEquals(97, first.getAvailable());
+        byte[] bits = Base64.getDecoder().decode(first.getOccupied());
+        assertEquals(13, bits.length);
+        assertEquals(0b1, bits[0]);
+        assertEquals(0b1, bits[1]);
+        assertEquals(0b1000, bits[12]);
+
+        seatIndex.claim(1L, 2);
+        SeatMapResponse second = showtimeService.getSeatMap(1L);
+
+        assertEquals(96, second.getAvailable());
+        assertNotEquals(first.getOccupied(), second.getOccupied());
+        verify(bookingRepository, times(1)).findSeatNumbersByShowtimeId(1L);
+    }
+
+    @Test
+    @DisplayName("Seat map of a non-existent showtime should throw")
+    void getSeatMap_notFound_shouldThrow() {
+        when(showtimeRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> showtimeService.getSeatMap(999L));
+    }
+
     @Test
     @DisplayName("Get non-existent showtime should throw")
     void getShowtime_notFound_shouldThrow() {
@@ -157,20 +248,113 @@ class ShowtimeServiceTest {
     @Test
     @DisplayName("Get all showtimes returns empty list")
     void getAllShowtimes_empty() {
-        when(showtimeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(showtimeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101))).thenReturn(Collections.emptyList());
 
-        List<Showtime> result = showtimeService.getAllShowtimes();
+        CursorPage<Showtime> result = showtimeService.getAllShowtimes(null, 100);
 
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextAfter());
     }
 
     @Test
     @DisplayName("Get all showtimes returns populated list")
     void getAllShowtimes_nonEmpty() {
-        when(showtimeRepository.findAll()).thenReturn(List.of(showtime));
+        when(showtimeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101))).thenReturn(List.of(showtime));
+
+        CursorPage<Showtime> result = showtimeService.getAllShowtimes(null, 100);
+
+        assertEquals(1, result.getItems().size());
+    }
+
+    @Test
+    @DisplayName("Schedule showtimes without conflicts saves them all")
+    void scheduleShowtimes_noConflicts_shouldSaveAll() {
+        Showtime first = newShowtime("Theater A", LocalDateTime.of(2025, 4, 9, 10, 0));
+        Showtime second = newShowtime("Theater A", LocalDateTime.of(2025, 4, 9, 13, 0));
+        Showtime other = newShowtime("Theater B", LocalDateTime.of(2025, 4, 9, 10, 0));
+        first.setId(2L);
+        second.setId(3L);
+        other.setId(4L);
+        when(showtimeRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ShowtimeScheduleResponse result = showtimeService.scheduleShowtimes(List.of(first, second, other));
+
+        assertEquals(3, result.getCreated().size());
+        assertTrue(result.getConflicts().isEmpty());
+        verify(showtimeRepository, times(2)).findIntervalsByTheater(any());
+    }
 
-        List<Showtime> result = showtimeService.getAllShowtimes();
+    @Test
+    @DisplayName("Schedule showtimes reports every conflict and saves nothing")
+    void scheduleShowtimes_conflicts_shouldReportAll() {
+        Showtime overlapsExisting = newShowtime("Theater A", LocalDateTime.of(2025, 4, 8, 15, 0));
+        Showtime free = newShowtime("Theater A", LocalDateTime.of(2025, 4, 8, 20, 0));
+        Showtime overlapsFree = newShowtime("Theater A", LocalDateTime.of(2025, 4, 8, 21, 0));
+        when(showtimeRepository.findIntervalsByTheater("Theater A")).thenReturn(List.of(interval(showtime)));
+
+        ShowtimeScheduleResponse result = showtimeService.scheduleShowtimes(List.of(overlapsExisting, free, overlapsFree));
+
+        List<ShowtimeConflict> conflicts = result.getConflicts();
+        assertEquals(3, conflicts.size());
+        assertEquals(0, conflicts.get(0).getIndex());
+        assertEquals(1L, conflicts.get(0).getConflictingShowtimeId());
+        assertEquals(1, conflicts.get(1).getIndex());
+        assertEquals(2, conflicts.get(1).getConflictingIndex());
+        assertEquals(2, conflicts.get(2).getIndex());
+        assertEquals(1, conflicts.get(2).getConflictingIndex());
+        assertTrue(result.getCreated().isEmpty());
+        verify(showtimeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Schedule showtimes checks the database for showtimes the index has not seen")
+    void scheduleShowtimes_rowOnlyInDatabase_shouldConflict() {
+        Showtime overlapsExisting = newShowtime("Theater A", LocalDateTime.of(2025, 4, 8, 15, 0));
+        LocalDateTime windowStart = overlapsExisting.getStartTime();
+        LocalDateTime windowEnd = windowStart.plusMinutes(movie.getDuration());
+        when(showtimeRepository.findIntervalsOverlapping("Theater A", windowStart, windowEnd))
+                .thenReturn(List.of(interval(showtime)));
+
+        ShowtimeScheduleResponse result = showtimeService.scheduleShowtimes(List.of(overlapsExisting));
+
+        assertEquals(1, result.getConflicts().size());
+        assertEquals(1L, result.getConflicts().get(0).getConflictingShowtimeId());
+        verify(showtimeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Schedule showtimes keeps the theater locked until the transaction completes")
+    void scheduleShowtimes_shouldHoldTheaterLockUntilCompletion() throws Exception {
+        Showtime scheduled = newShowtime("Theater A", LocalDateTime.of(2025, 4, 9, 10, 0));
+        scheduled.setId(2L);
+        when(showtimeRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(showtimeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+        showtimeService.scheduleShowtimes(List.of(scheduled));
+
+        Showtime single = newShowtime("Theater A", LocalDateTime.of(2025, 4, 9, 11, 0));
+        CompletableFuture<Showtime> create = CompletableFuture.supplyAsync(() -> showtimeService.createShowtime(single));
+        assertThrows(TimeoutException.class, () -> create.get(100, TimeUnit.MILLISECONDS));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> create.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ShowtimeConflictException.class, failure.getCause());
+    }
+
+    private Showtime newShowtime(String theater, LocalDateTime startTime) {
+        Showtime created = new Showtime();
+        created.setMovie(movie);
+        created.setTheater(theater);
+        created.setStartTime(startTime);
+        created.setPrice(BigDecimal.valueOf(40));
+        return created;
+    }
 
-        assertEquals(1, result.size());
+    private ShowtimeInterval interval(Showtime source) {
+        return new ShowtimeInterval(source.getId(), source.getTheater(), source.getStartTime(), source.getEndTime());
     }
 }
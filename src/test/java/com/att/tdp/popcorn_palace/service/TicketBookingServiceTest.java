@@ -1,7 +1,10 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.booking.BookingPipeline;
+import com.att.tdp.popcorn_palace.dto.TicketBookingBatchRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingRequest;
 import com.att.tdp.popcorn_palace.dto.TicketBookingResponse;
+import com.att.tdp.popcorn_palace.exception.InvalidRequestException;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
 import com.att.tdp.popcorn_palace.model.Customer;
 import com.att.tdp.popcorn_palace.model.Movie;
@@ -9,23 +12,46 @@ import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.model.TicketBooking;
 import com.att.tdp.popcorn_palace.repository.CustomerRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketBookingBatchWriter;
+import com.att.tdp.popcorn_palace.repository.TicketBookingExportReader;
 import com.att.tdp.popcorn_palace.repository.TicketBookingRepository;
+import com.att.tdp.popcorn_palace.seat.SeatChange;
+import com.att.tdp.popcorn_palace.seat.SeatChangeBus;
+import com.att.tdp.popcorn_palace.seat.SeatHoldRegistry;
+import com.att.tdp.popcorn_palace.seat.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.seat.ShowtimeLockManager;
 import com.att.tdp.popcorn_palace.service.impl.TicketBookingServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.hibernate.exception.ConstraintViolationException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TicketBookingServiceTest {
@@ -39,8 +65,20 @@ class TicketBookingServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
-    @InjectMocks
+    @Mock
+    private TicketBookingBatchWriter batchWriter;
+
+    @Mock
+    private TicketBookingExportReader exportReader;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShowtimeLockManager showtimeLocks;
+
     private TicketBookingServiceImpl service;
+    private SeatChangeBus seatChanges;
+    private SeatOccupancyIndex seatIndex;
 
     private TicketBookingRequest request;
     private TicketBooking booking;
@@ -50,6 +88,10 @@ class TicketBookingServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        showtimeLocks = spy(new ShowtimeLockManager(64, Duration.ofMillis(100)));
+        seatChanges = new SeatChangeBus(32);
+        seatIndex = new SeatOccupancyIndex(showtimeRepository, bookingRepository, new SeatHoldRegistry());
+        service = newService(null);
 
         Movie movie = new Movie();
         movie.setId(1L);
@@ -82,10 +124,10 @@ class TicketBookingServiceTest {
     @Test
     @DisplayName("bookTicket - should book and return response")
     void bookTicket_shouldReturnResponse() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(bookingRepository.existsByShowtimeAndSeatNumber(showtime, 11)).thenReturn(false);
-        when(bookingRepository.save(any(TicketBooking.class))).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any(TicketBooking.class))).thenReturn(booking);
 
         TicketBookingResponse result = service.bookTicket(request);
 
@@ -94,20 +136,92 @@ class TicketBookingServiceTest {
         assertEquals("John Doe", result.getCustomerName());
     }
 
+    @Test
+    @DisplayName("bookTicket - locks the showtime before claiming the seat")
+    void bookTicket_shouldLockShowtimeFirst() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(11));
+
+        assertThrows(SeatAlreadyBookedException.class, () -> service.bookTicket(request));
+
+        verify(showtimeLocks).withLock(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("bookTicket - a writer waiting for a busy showtime holds no transaction")
+    void bookTicket_waitingForLock_shouldNotHoldTransaction() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> showtimeLocks.withLock(1L, () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(CannotAcquireLockException.class, () -> service.bookTicket(request));
+            verify(transactionManager, never()).getTransaction(any());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
     @Test
     @DisplayName("bookTicket - seat already booked should throw exception")
     void bookTicket_seatAlreadyBooked_shouldThrow() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(11));
+
+        assertThrows(SeatAlreadyBookedException.class, () -> service.bookTicket(request));
+        verify(customerRepository, never()).findById(any());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("bookTicket - second booking of same seat is rejected from memory")
+    void bookTicket_sameSeatTwice_shouldRejectWithoutQuery() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(bookingRepository.existsByShowtimeAndSeatNumber(showtime, 11)).thenReturn(true);
+        when(bookingRepository.saveAndFlush(any(TicketBooking.class))).thenReturn(booking);
+
+        service.bookTicket(request);
 
         assertThrows(SeatAlreadyBookedException.class, () -> service.bookTicket(request));
+        verify(bookingRepository, times(1)).findSeatNumbersByShowtimeId(1L);
+        verify(bookingRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("bookTicket - unique key violation should surface as seat already booked")
+    void bookTicket_uniqueKeyViolation_shouldThrowSeatAlreadyBooked() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(bookingRepository.saveAndFlush(any(TicketBooking.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate", new ConstraintViolationException("duplicate", null, TicketBooking.SEAT_CONSTRAINT)));
+
+        assertThrows(SeatAlreadyBookedException.class, () -> service.bookTicket(request));
+    }
+
+    @Test
+    @DisplayName("bookTicket - other integrity violations are not reported as seat conflicts")
+    void bookTicket_otherIntegrityViolation_shouldPropagate() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(bookingRepository.saveAndFlush(any(TicketBooking.class))).thenThrow(new DataIntegrityViolationException(
+                "fk", new ConstraintViolationException("fk", null, "fk_ticket_booking_customer")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.bookTicket(request));
     }
 
     @Test
     @DisplayName("bookTicket - showtime not found should throw")
     void bookTicket_missingShowtime_shouldThrow() {
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(showtimeRepository.existsById(1L)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> service.bookTicket(request));
     }
@@ -115,48 +229,121 @@ class TicketBookingServiceTest {
     @Test
     @DisplayName("bookTicket - customer not found should throw")
     void bookTicket_missingCustomer_shouldThrow() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.bookTicket(request));
     }
 
+    @Test
+    @DisplayName("bookTickets - should insert all seats in one batch")
+    void bookTickets_shouldInsertAllSeats() {
+        TicketBookingBatchRequest batch = batchRequest(11, 12, 13);
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TicketBookingResponse> result = service.bookTickets(batch);
+
+        assertEquals(3, result.size());
+        assertEquals(List.of(11, 12, 13), result.stream().map(TicketBookingResponse::getSeatNumber).toList());
+        verify(batchWriter, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("bookHeldSeats - writes seats already claimed by a hold")
+    void bookHeldSeats_shouldInsertWithoutClaiming() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(11));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TicketBookingResponse> result = service.bookHeldSeats(1L, 1L, List.of(11));
+
+        assertEquals(1, result.size());
+        verify(batchWriter, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("bookTickets - any taken seat should reject the whole batch")
+    void bookTickets_seatTaken_shouldRejectAll() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(12));
+
+        assertThrows(SeatAlreadyBookedException.class, () -> service.bookTickets(batchRequest(11, 12, 13)));
+        verify(batchWriter, never()).insertAll(anyList());
+
+        // Seats 11 and 13 were not kept by the failed batch.
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        assertEquals(2, service.bookTickets(batchRequest(11, 13)).size());
+    }
+
+    @Test
+    @DisplayName("bookTickets - repeated seat numbers should throw")
+    void bookTickets_duplicateSeats_shouldThrow() {
+        assertThrows(InvalidRequestException.class, () -> service.bookTickets(batchRequest(11, 11)));
+    }
+
     @Test
     @DisplayName("getAllBookings - should return list")
     void getAllBookings_shouldReturnList() {
-        when(bookingRepository.findAll()).thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findResponsesAfter(0L, Limit.of(101)))
+                .thenReturn(Collections.singletonList(TicketBookingResponse.fromEntity(booking)));
 
-        var result = service.getAllBookings();
+        var result = service.getAllBookings(null, 100);
 
-        assertEquals(1, result.size());
-        assertEquals(11, result.get(0).getSeatNumber());
+        assertEquals(1, result.getItems().size());
+        assertEquals(11, result.getItems().get(0).getSeatNumber());
     }
 
     @Test
     @DisplayName("getAllBookings - empty list should return empty")
     void getAllBookings_empty_shouldReturnEmpty() {
-        when(bookingRepository.findAll()).thenReturn(Collections.emptyList());
+        when(bookingRepository.findResponsesAfter(5L, Limit.of(101))).thenReturn(Collections.emptyList());
 
-        var result = service.getAllBookings();
+        var result = service.getAllBookings(5L, 100);
+
+        assertTrue(result.getItems().isEmpty());
+    }
 
-        assertTrue(result.isEmpty());
+    @Test
+    @DisplayName("exportBookings - should pass rows from the reader to the sink")
+    void exportBookings_shouldStreamReaderRows() {
+        TicketBookingResponse row = new TicketBookingResponse(1L, 1L, 11, 1L, "John Doe", LocalDateTime.now());
+        doAnswer(invocation -> {
+            Consumer<TicketBookingResponse> sink = invocation.getArgument(0);
+            sink.accept(row);
+            return null;
+        }).when(exportReader).forEach(any());
+        List<TicketBookingResponse> exported = new ArrayList<>();
+
+        service.exportBookings(exported::add);
+
+        assertEquals(List.of(row), exported);
+        verify(bookingRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("getBooking - existing ID should return booking")
     void getBooking_existingId_shouldReturnBooking() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findResponseById(1L)).thenReturn(Optional.of(TicketBookingResponse.fromEntity(booking)));
 
         TicketBookingResponse result = service.getBooking(1L);
 
         assertEquals(11, result.getSeatNumber());
         assertEquals("John Doe", result.getCustomerName());
+        verify(bookingRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("getBooking - non-existent ID should throw")
     void getBooking_nonExistentId_shouldThrow() {
-        when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
+        when(bookingRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.getBooking(999L));
     }
@@ -164,18 +351,168 @@ class TicketBookingServiceTest {
     @Test
     @DisplayName("cancelBooking - existing ID should delete")
     void cancelBooking_existingId_shouldDelete() {
-        when(bookingRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        service.cancelBooking(1L);
+
+        verify(bookingRepository).delete(booking);
+    }
+
+    @Test
+    @DisplayName("bookTicket and cancelBooking - publish seat changes to watchers")
+    void bookAndCancel_shouldPublishSeatChanges() throws InterruptedException {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(bookingRepository.saveAndFlush(any(TicketBooking.class))).thenReturn(booking);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        try (SeatChangeBus.Subscription subscription = seatChanges.subscribe(1L)) {
+            service.bookTicket(request);
+            SeatChangeBus.Batch booked = subscription.poll(Duration.ZERO);
+            service.cancelBooking(1L);
+            SeatChangeBus.Batch cancelled = subscription.poll(Duration.ZERO);
+
+            assertEquals(List.of(new SeatChange(1L, 11, SeatChange.Type.BOOKED)), booked.changes());
+            assertEquals(List.of(new SeatChange(1L, 11, SeatChange.Type.CANCELLED)), cancelled.changes());
+        }
+        assertEquals(0, seatChanges.subscriberCount(1L));
+    }
+
+    @Test
+    @DisplayName("cancelBooking - seat becomes bookable again")
+    void cancelBooking_shouldFreeSeat() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(11));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(bookingRepository.saveAndFlush(any(TicketBooking.class))).thenReturn(booking);
+
+        assertThrows(SeatAlreadyBookedException.class, () -> service.bookTicket(request));
 
         service.cancelBooking(1L);
 
-        verify(bookingRepository).deleteById(1L);
+        assertNotNull(service.bookTicket(request));
+    }
+
+    @Test
+    @DisplayName("cancelBooking - locks the booking's showtime")
+    void cancelBooking_shouldLockShowtime() {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        service.cancelBooking(1L);
+
+        verify(showtimeLocks).withLock(eq(1L), any());
     }
 
     @Test
     @DisplayName("cancelBooking - non-existent ID should throw")
     void cancelBooking_nonExistentId_shouldThrow() {
-        when(bookingRepository.existsById(99L)).thenReturn(false);
+        when(bookingRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.cancelBooking(99L));
     }
+
+    @Test
+    @DisplayName("submitBooking - bookings arriving together are inserted in one group commit")
+    void submitBooking_shouldGroupCommit() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        BookingPipeline pipeline = new BookingPipeline(batchWriter, transactionManager, 16, Duration.ofMillis(200), 3);
+        service = newService(pipeline);
+
+        pipeline.start();
+        try {
+            List<CompletableFuture<TicketBookingResponse>> results = new ArrayList<>();
+            for (int seat = 1; seat <= 3; seat++) {
+                request.setSeatNumber(seat);
+                results.add(service.submitBooking(request));
+            }
+
+            assertEquals(List.of(1, 2, 3), results.stream().map(r -> r.join().getSeatNumber()).toList());
+            verify(batchWriter, times(1)).insertAll(argThat(bookings -> bookings.size() == 3));
+            verify(transactionManager, times(1)).commit(any());
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("submitBooking - a seat conflict in the batch fails only that booking and frees its seat")
+    void submitBooking_conflict_shouldFailOnlyThatBooking() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        DataIntegrityViolationException conflict = new DataIntegrityViolationException(
+                "duplicate", new ConstraintViolationException("duplicate", null, TicketBooking.SEAT_CONSTRAINT));
+        when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+            List<TicketBooking> bookings = invocation.getArgument(0);
+            if (bookings.stream().anyMatch(b -> b.getSeatNumber() == 2)) {
+                throw conflict;
+            }
+            return bookings;
+        });
+        BookingPipeline pipeline = new BookingPipeline(batchWriter, transactionManager, 16, Duration.ofMillis(200), 2);
+        service = newService(pipeline);
+
+        pipeline.start();
+        try {
+            request.setSeatNumber(1);
+            CompletableFuture<TicketBookingResponse> first = service.submitBooking(request);
+            request.setSeatNumber(2);
+            CompletableFuture<TicketBookingResponse> second = service.submitBooking(request);
+
+            assertEquals(1, first.join().getSeatNumber());
+            CompletionException failure = assertThrows(CompletionException.class, second::join);
+            assertInstanceOf(SeatAlreadyBookedException.class, failure.getCause());
+            assertFalse(seatIndex.seats(1L).isTaken(2));
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("submitBooking - a stopped pipeline rejects the booking and frees the seat")
+    void submitBooking_stoppedPipeline_shouldReject() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        service = newService(new BookingPipeline(batchWriter, transactionManager, 16, Duration.ofMillis(2), 8));
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> service.submitBooking(request).join());
+
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertFalse(seatIndex.seats(1L).isTaken(11));
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    @DisplayName("submitBooking - without the pipeline enabled should throw")
+    void submitBooking_disabled_shouldThrow() {
+        assertThrows(IllegalStateException.class, () -> service.submitBooking(request));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TicketBookingServiceImpl newService(BookingPipeline pipeline) {
+        return new TicketBookingServiceImpl(bookingRepository, showtimeRepository, customerRepository,
+                batchWriter, exportReader, seatIndex, seatChanges, showtimeLocks, transactionManager,
+                Optional.ofNullable(pipeline));
+    }
+
+    private TicketBookingBatchRequest batchRequest(Integer... seatNumbers) {
+        TicketBookingBatchRequest batch = new TicketBookingBatchRequest();
+        batch.setShowtimeId(1L);
+        batch.setCustomerId(1L);
+        batch.setSeatNumbers(List.of(seatNumbers));
+        return batch;
+    }
 }